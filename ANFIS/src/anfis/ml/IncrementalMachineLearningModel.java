@@ -1,5 +1,6 @@
 package anfis.ml;
 
+import anfis.ml.sampling.Dataset;
 import anfis.ml.sampling.Sample;
 
 import java.util.List;
@@ -7,4 +8,6 @@ import java.util.List;
 public interface IncrementalMachineLearningModel extends MachineLearningModel {
 
     IncrementalMachineLearningModel partialFit(List<Sample> samples);
+
+    IncrementalMachineLearningModel partialFit(Dataset samples);
 }
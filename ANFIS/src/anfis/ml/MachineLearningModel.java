@@ -1,6 +1,7 @@
 package anfis.ml;
 
 
+import anfis.ml.sampling.Dataset;
 import anfis.ml.sampling.Sample;
 
 import java.util.List;
@@ -8,4 +9,6 @@ import java.util.List;
 public interface MachineLearningModel extends Predictor {
 
     MachineLearningModel fit(List<Sample> samples);
+
+    MachineLearningModel fit(Dataset samples);
 }
@@ -1,10 +1,16 @@
 package anfis.ml;
 
+import java.util.Arrays;
+
 @FunctionalInterface
 public interface Predictor {
 
     double[] predict(double[] x);
 
+    default double[] predict(double[] data, int offset, int length) {
+        return predict(Arrays.copyOfRange(data, offset, offset + length));
+    }
+
     default double[][] predict(double[]... data) {
         int n = data.length;
         double[][] predictions = new double[n][];
@@ -0,0 +1,22 @@
+package anfis.ml.evaluation;
+
+import anfis.ml.Predictor;
+import anfis.ml.loss.LossFunction;
+import anfis.ml.sampling.Dataset;
+
+import java.util.random.RandomGenerator;
+
+public interface EvaluationContext {
+
+    Predictor model();
+
+    LossFunction lossFunction();
+
+    double score();
+
+    RandomGenerator random();
+
+    Dataset sample(int size, RandomGenerator random);
+
+    double trainingLoss();
+}
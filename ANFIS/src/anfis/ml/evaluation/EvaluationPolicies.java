@@ -0,0 +1,227 @@
+package anfis.ml.evaluation;
+
+import anfis.ml.loss.DecomposableLossFunction;
+import anfis.ml.observers.IterationStatistics;
+import anfis.ml.sampling.Dataset;
+
+public final class EvaluationPolicies {
+
+    private static final double DEFAULT_STANDARD_ERRORS = 1.96;
+
+    private EvaluationPolicies() {
+    }
+
+    public static EvaluationPolicy exact() {
+        return context -> iteration -> IterationStatistics.of(context::score, iteration);
+    }
+
+    public static EvaluationPolicy every(int interval) {
+        return every(interval, exact());
+    }
+
+    public static EvaluationPolicy every(int interval, EvaluationPolicy policy) {
+        if (interval < 1) throw new IllegalArgumentException("Evaluation interval must be positive, got: " + interval);
+        return new EvaluationPolicy() {
+            @Override
+            public Evaluator begin(EvaluationContext context) {
+                Evaluator evaluator = policy.begin(context);
+                IterationStatistics[] last = new IterationStatistics[1];
+                return iteration -> {
+                    IterationStatistics current = evaluator.statistics(iteration);
+                    return new Statistics(context, iteration) {
+                        private IterationStatistics source() {
+                            if (last[0] == null || iteration - last[0].getIteration() >= interval) last[0] = current;
+                            return last[0];
+                        }
+
+                        @Override
+                        double compute() {
+                            return source().getError();
+                        }
+
+                        @Override
+                        public double getErrorBound() {
+                            return source().getErrorBound();
+                        }
+
+                        @Override
+                        public int getErrorIteration() {
+                            return source().getErrorIteration();
+                        }
+
+                        @Override
+                        public boolean isExact() {
+                            return source() == current && current.isExact();
+                        }
+
+                        @Override
+                        public boolean isEvaluated() {
+                            return super.isEvaluated() || source().isEvaluated();
+                        }
+                    };
+                };
+            }
+
+            @Override
+            public boolean requiresTrainingLoss() {
+                return policy.requiresTrainingLoss();
+            }
+        };
+    }
+
+    public static EvaluationPolicy subsample(int size) {
+        return subsample(size, DEFAULT_STANDARD_ERRORS);
+    }
+
+    public static EvaluationPolicy subsample(int size, double standardErrors) {
+        if (size < 1) throw new IllegalArgumentException("Sample size must be positive, got: " + size);
+        if (standardErrors < 0.) throw new IllegalArgumentException("Standard errors must not be negative, got: " + standardErrors);
+        return context -> {
+            if (!(context.lossFunction() instanceof DecomposableLossFunction lossFunction))
+                throw new IllegalArgumentException("Subsampled evaluation requires a decomposable loss function");
+            Dataset sample = context.sample(size, context.random());
+
+            return iteration -> new Statistics(context, iteration) {
+
+                private double bound;
+
+                @Override
+                double compute() {
+                    double[] data = sample.data();
+                    int inputDimension = sample.inputDimension();
+                    int n = sample.size();
+                    double mean = 0.;
+                    double squares = 0.;
+                    for (int row = 0; row < n; row++) {
+                        double[] output = context.model().predict(data, sample.offset(row), inputDimension);
+                        double loss = lossFunction.loss(data, sample.targetOffset(row), output);
+                        double delta = loss - mean;
+                        mean += delta / (row + 1);
+                        squares += delta * (loss - mean);
+                    }
+                    bound = n > 1 ? standardErrors * Math.sqrt(squares / (n - 1) / n) : Double.POSITIVE_INFINITY;
+                    return mean;
+                }
+
+                @Override
+                public double getErrorBound() {
+                    getError();
+                    return bound;
+                }
+
+                @Override
+                public boolean isExact() {
+                    return false;
+                }
+            };
+        };
+    }
+
+    public static EvaluationPolicy ewma(double smoothing) {
+        if (smoothing <= 0. || smoothing > 1.) throw new IllegalArgumentException("Smoothing must be in (0, 1], got: " + smoothing);
+        return new EvaluationPolicy() {
+            @Override
+            public Evaluator begin(EvaluationContext context) {
+                return new Evaluator() {
+
+                    private boolean seeded;
+                    private double estimate;
+                    private double variance;
+
+                    private void add(double loss) {
+                        if (!seeded) {
+                            estimate = loss;
+                            variance = 0.;
+                            seeded = true;
+                            return;
+                        }
+                        double delta = loss - estimate;
+                        double increment = smoothing * delta;
+                        estimate += increment;
+                        variance = (1. - smoothing) * (variance + delta * increment);
+                    }
+
+                    @Override
+                    public IterationStatistics statistics(int iteration) {
+                        double loss = context.trainingLoss();
+                        if (!Double.isNaN(loss)) add(loss);
+                        return new Statistics(context, iteration) {
+                            @Override
+                            double compute() {
+                                if (!seeded) add(context.score());
+                                return estimate;
+                            }
+
+                            @Override
+                            public double getErrorBound() {
+                                getError();
+                                return Math.sqrt(variance);
+                            }
+
+                            @Override
+                            public boolean isExact() {
+                                return false;
+                            }
+
+                            @Override
+                            public boolean isEvaluated() {
+                                return seeded || super.isEvaluated();
+                            }
+                        };
+                    }
+                };
+            }
+
+            @Override
+            public boolean requiresTrainingLoss() {
+                return true;
+            }
+        };
+    }
+
+    private abstract static class Statistics implements IterationStatistics {
+
+        private final EvaluationContext context;
+        private final int iteration;
+
+        private double error;
+        private boolean isExtracted;
+        private double exactError;
+        private boolean isExactExtracted;
+
+        Statistics(EvaluationContext context, int iteration) {
+            this.context = context;
+            this.iteration = iteration;
+        }
+
+        abstract double compute();
+
+        @Override
+        public final double getError() {
+            if (!isExtracted) {
+                error = compute();
+                isExtracted = true;
+            }
+            return error;
+        }
+
+        @Override
+        public final int getIteration() {
+            return iteration;
+        }
+
+        @Override
+        public boolean isEvaluated() {
+            return isExtracted;
+        }
+
+        @Override
+        public double getExactError() {
+            if (!isExactExtracted) {
+                exactError = context.score();
+                isExactExtracted = true;
+            }
+            return exactError;
+        }
+    }
+}
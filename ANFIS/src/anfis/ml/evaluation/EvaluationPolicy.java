@@ -0,0 +1,17 @@
+package anfis.ml.evaluation;
+
+import anfis.ml.observers.IterationStatistics;
+
+public interface EvaluationPolicy {
+
+    Evaluator begin(EvaluationContext context);
+
+    default boolean requiresTrainingLoss() {
+        return false;
+    }
+
+    interface Evaluator {
+
+        IterationStatistics statistics(int iteration);
+    }
+}
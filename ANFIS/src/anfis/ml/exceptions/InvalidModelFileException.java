@@ -0,0 +1,8 @@
+package anfis.ml.exceptions;
+
+public class InvalidModelFileException extends RuntimeException {
+
+    public InvalidModelFileException(String message) {
+        super("Provided model file is invalid (" + message + ")");
+    }
+}
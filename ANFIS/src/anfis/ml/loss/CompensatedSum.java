@@ -0,0 +1,31 @@
+package anfis.ml.loss;
+
+final class CompensatedSum {
+
+    private double sum;
+    private double compensation;
+
+    void add(double value) {
+        double total = sum + value;
+        if (Math.abs(sum) >= Math.abs(value)) {
+            compensation += (sum - total) + value;
+        } else {
+            compensation += (value - total) + sum;
+        }
+        sum = total;
+    }
+
+    void add(CompensatedSum other) {
+        add(other.sum);
+        add(other.compensation);
+    }
+
+    double value() {
+        return sum + compensation;
+    }
+
+    void reset() {
+        sum = 0.;
+        compensation = 0.;
+    }
+}
@@ -0,0 +1,42 @@
+package anfis.ml.loss;
+
+import anfis.ml.Predictor;
+import anfis.ml.sampling.Dataset;
+import anfis.ml.sampling.Sample;
+
+import java.util.Arrays;
+import java.util.List;
+
+@FunctionalInterface
+public interface DecomposableLossFunction extends LossFunction {
+
+    double loss(double[] target, double[] output);
+
+    default double loss(double target, double output) {
+        return loss(new double[]{target}, new double[]{output});
+    }
+
+    default double loss(double[] target, int offset, double[] output) {
+        return loss(Arrays.copyOfRange(target, offset, offset + output.length), output);
+    }
+
+    @Override
+    default double score(Predictor model, List<Sample> samples) {
+        LossAccumulator accumulator = accumulator();
+        for (Sample sample : samples) {
+            accumulator.add(sample.y(), model.predict(sample.x()));
+        }
+        return accumulator.score();
+    }
+
+    @Override
+    default double score(Predictor model, Dataset samples) {
+        LossAccumulator accumulator = accumulator();
+        accumulator.add(model, samples, 0, samples.size());
+        return accumulator.score();
+    }
+
+    default LossAccumulator accumulator() {
+        return new LossAccumulator(this);
+    }
+}
@@ -0,0 +1,57 @@
+package anfis.ml.loss;
+
+import anfis.ml.Predictor;
+import anfis.ml.sampling.Dataset;
+
+public final class LossAccumulator {
+
+    private final DecomposableLossFunction lossFunction;
+    private final CompensatedSum sum;
+    private int count;
+
+    LossAccumulator(DecomposableLossFunction lossFunction) {
+        this.lossFunction = lossFunction;
+        this.sum = new CompensatedSum();
+    }
+
+    public void add(double[] target, double[] output) {
+        sum.add(lossFunction.loss(target, output));
+        count++;
+    }
+
+    public void add(double target, double output) {
+        sum.add(lossFunction.loss(target, output));
+        count++;
+    }
+
+    public void add(double[] target, int offset, double[] output) {
+        sum.add(lossFunction.loss(target, offset, output));
+        count++;
+    }
+
+    public void add(Predictor model, Dataset samples, int from, int to) {
+        double[] data = samples.data();
+        int inputDimension = samples.inputDimension();
+        for (int row = from; row < to; row++) {
+            add(data, samples.targetOffset(row), model.predict(data, samples.offset(row), inputDimension));
+        }
+    }
+
+    public void merge(LossAccumulator other) {
+        sum.add(other.sum);
+        count += other.count;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double score() {
+        return sum.value() / count;
+    }
+
+    public void reset() {
+        sum.reset();
+        count = 0;
+    }
+}
@@ -1,6 +1,7 @@
 package anfis.ml.loss;
 
 import anfis.ml.Predictor;
+import anfis.ml.sampling.Dataset;
 import anfis.ml.sampling.Sample;
 
 import java.util.List;
@@ -9,4 +10,8 @@ import java.util.List;
 public interface LossFunction {
 
     double score(Predictor model, List<Sample> samples);
+
+    default double score(Predictor model, Dataset samples) {
+        return score(model, samples.samples());
+    }
 }
@@ -1,47 +1,73 @@
 package anfis.ml.loss;
 
 import anfis.ml.exceptions.InvalidSampleException;
-import anfis.ml.sampling.Sample;
 
 import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
 
 public final class LossFunctions {
 
     private LossFunctions() {
     }
 
-    public static LossFunction MSE() {
-        return (model, samples) -> {
-            double mse = 0.;
-            for (Sample sample : samples) {
-                double[] target = sample.y();
-                double[] output = model.predict(sample.x());
-
+    public static DecomposableLossFunction MSE() {
+        return new DecomposableLossFunction() {
+            @Override
+            public double loss(double[] target, double[] output) {
                 if (target.length != output.length) throw new InvalidSampleException();
 
+                double loss = 0.;
                 for (int i = 0, n = output.length; i < n; i++) {
                     double diff = target[i] - output[i];
-                    mse += diff * diff;
+                    loss += diff * diff;
                 }
+                return loss;
+            }
+
+            @Override
+            public double loss(double target, double output) {
+                double diff = target - output;
+                return diff * diff;
+            }
+
+            @Override
+            public double loss(double[] target, int offset, double[] output) {
+                double loss = 0.;
+                for (int i = 0, n = output.length; i < n; i++) {
+                    double diff = target[offset + i] - output[i];
+                    loss += diff * diff;
+                }
+                return loss;
             }
-            return mse / samples.size();
         };
     }
 
-    public static LossFunction zeroOneLoss() {
-        return (model, samples) -> {
-            int wrong = 0;
-            for (Sample sample : samples) {
-                double[] target = sample.y();
-                double[] output = model.predict(sample.x());
-
+    public static DecomposableLossFunction zeroOneLoss() {
+        return new DecomposableLossFunction() {
+            @Override
+            public double loss(double[] target, double[] output) {
                 if (target.length != output.length) throw new InvalidSampleException();
 
-                if (!Arrays.equals(sample.y(), model.predict(sample.x()))) {
-                    wrong++;
-                }
+                return Arrays.equals(target, output) ? 0. : 1.;
+            }
+
+            @Override
+            public double loss(double target, double output) {
+                return Double.compare(target, output) == 0 ? 0. : 1.;
+            }
+
+            @Override
+            public double loss(double[] target, int offset, double[] output) {
+                return Arrays.equals(target, offset, offset + output.length, output, 0, output.length) ? 0. : 1.;
             }
-            return (double) wrong / samples.size();
         };
     }
+
+    public static DecomposableLossFunction parallel(DecomposableLossFunction lossFunction) {
+        return parallel(lossFunction, ForkJoinPool.commonPool());
+    }
+
+    public static DecomposableLossFunction parallel(DecomposableLossFunction lossFunction, ForkJoinPool pool) {
+        return new ParallelLossFunction(lossFunction, pool);
+    }
 }
@@ -0,0 +1,127 @@
+package anfis.ml.loss;
+
+import anfis.ml.Predictor;
+import anfis.ml.sampling.Dataset;
+import anfis.ml.sampling.Sample;
+
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+final class ParallelLossFunction implements DecomposableLossFunction {
+
+    private static final int DEFAULT_THRESHOLD = 1024;
+
+    private final DecomposableLossFunction lossFunction;
+    private final ForkJoinPool pool;
+    private final int threshold;
+
+    ParallelLossFunction(DecomposableLossFunction lossFunction, ForkJoinPool pool) {
+        this(lossFunction, pool, DEFAULT_THRESHOLD);
+    }
+
+    ParallelLossFunction(DecomposableLossFunction lossFunction, ForkJoinPool pool, int threshold) {
+        this.lossFunction = lossFunction;
+        this.pool = pool;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public double loss(double[] target, double[] output) {
+        return lossFunction.loss(target, output);
+    }
+
+    @Override
+    public double loss(double target, double output) {
+        return lossFunction.loss(target, output);
+    }
+
+    @Override
+    public double loss(double[] target, int offset, double[] output) {
+        return lossFunction.loss(target, offset, output);
+    }
+
+    @Override
+    public double score(Predictor model, Dataset samples) {
+        if (samples.size() <= threshold) {
+            return lossFunction.score(model, samples);
+        }
+        return pool.invoke(new DatasetScoringTask(model, samples, 0, samples.size())).score();
+    }
+
+    @Override
+    public double score(Predictor model, List<Sample> samples) {
+        if (!(samples instanceof RandomAccess) || samples.size() <= threshold) {
+            return lossFunction.score(model, samples);
+        }
+        return pool.invoke(new ScoringTask(model, samples, 0, samples.size())).score();
+    }
+
+    private final class ScoringTask extends RecursiveTask<LossAccumulator> {
+
+        private final Predictor model;
+        private final List<Sample> samples;
+        private final int from;
+        private final int to;
+
+        ScoringTask(Predictor model, List<Sample> samples, int from, int to) {
+            this.model = model;
+            this.samples = samples;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected LossAccumulator compute() {
+            if (to - from <= threshold) {
+                LossAccumulator accumulator = lossFunction.accumulator();
+                for (int i = from; i < to; i++) {
+                    Sample sample = samples.get(i);
+                    accumulator.add(sample.y(), model.predict(sample.x()));
+                }
+                return accumulator;
+            }
+
+            int middle = (from + to) >>> 1;
+            ScoringTask left = new ScoringTask(model, samples, from, middle);
+            ScoringTask right = new ScoringTask(model, samples, middle, to);
+            right.fork();
+            LossAccumulator accumulator = left.compute();
+            accumulator.merge(right.join());
+            return accumulator;
+        }
+    }
+
+    private final class DatasetScoringTask extends RecursiveTask<LossAccumulator> {
+
+        private final Predictor model;
+        private final Dataset samples;
+        private final int from;
+        private final int to;
+
+        DatasetScoringTask(Predictor model, Dataset samples, int from, int to) {
+            this.model = model;
+            this.samples = samples;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected LossAccumulator compute() {
+            if (to - from <= threshold) {
+                LossAccumulator accumulator = lossFunction.accumulator();
+                accumulator.add(model, samples, from, to);
+                return accumulator;
+            }
+
+            int middle = (from + to) >>> 1;
+            DatasetScoringTask left = new DatasetScoringTask(model, samples, from, middle);
+            DatasetScoringTask right = new DatasetScoringTask(model, samples, middle, to);
+            right.fork();
+            LossAccumulator accumulator = left.compute();
+            accumulator.merge(right.join());
+            return accumulator;
+        }
+    }
+}
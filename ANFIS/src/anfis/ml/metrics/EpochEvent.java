@@ -0,0 +1,27 @@
+package anfis.ml.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("anfis.Epoch")
+@Label("Training Epoch")
+@Category("ANFIS")
+@Description("One pass of a model over its training data")
+public final class EpochEvent extends Event {
+
+    @Label("Epoch")
+    public int epoch;
+
+    @Label("Samples")
+    public long samples;
+
+    @Label("Batches")
+    public long batches;
+
+    transient long start;
+    transient long samplesBefore;
+    transient long batchesBefore;
+}
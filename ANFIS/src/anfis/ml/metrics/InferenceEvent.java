@@ -0,0 +1,19 @@
+package anfis.ml.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+@Name("anfis.Inference")
+@Label("Inference")
+@Category("ANFIS")
+@Description("A single predict or predictInto call")
+public final class InferenceEvent extends Event {
+
+    @Label("Rows")
+    public int rows;
+
+    transient long start;
+}
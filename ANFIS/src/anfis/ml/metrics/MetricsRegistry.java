@@ -0,0 +1,126 @@
+package anfis.ml.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+public final class MetricsRegistry {
+
+    private static final double NANOS_PER_SECOND = 1e9;
+
+    private final LongAdder[] nanos = new LongAdder[Phase.values().length];
+    private final LongAdder samples = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder epochs = new LongAdder();
+    private final LongAdder inferences = new LongAdder();
+    private final LatencyHistogram inferenceLatency = new LatencyHistogram();
+
+    public MetricsRegistry() {
+        for (int i = 0; i < nanos.length; i++) {
+            nanos[i] = new LongAdder();
+        }
+    }
+
+    public void record(Phase phase, long elapsed) {
+        nanos[phase.ordinal()].add(elapsed);
+    }
+
+    public void recordGradient(int rows, long forward, long backward) {
+        samples.add(rows);
+        nanos[Phase.FORWARD.ordinal()].add(forward);
+        nanos[Phase.BACKWARD.ordinal()].add(backward);
+    }
+
+    public void recordUpdate(long elapsed) {
+        batches.increment();
+        nanos[Phase.UPDATE.ordinal()].add(elapsed);
+    }
+
+    public EpochEvent beginEpoch() {
+        EpochEvent event = new EpochEvent();
+        event.samplesBefore = samples.sum();
+        event.batchesBefore = batches.sum();
+        event.begin();
+        event.start = System.nanoTime();
+        return event;
+    }
+
+    public void endEpoch(EpochEvent event, int epoch) {
+        record(Phase.EPOCH, System.nanoTime() - event.start);
+        epochs.increment();
+        if (event.shouldCommit()) {
+            event.epoch = epoch;
+            event.samples = samples.sum() - event.samplesBefore;
+            event.batches = batches.sum() - event.batchesBefore;
+            event.commit();
+        }
+    }
+
+    public InferenceEvent beginInference() {
+        InferenceEvent event = new InferenceEvent();
+        event.begin();
+        event.start = System.nanoTime();
+        return event;
+    }
+
+    public void endInference(InferenceEvent event, int rows) {
+        long elapsed = System.nanoTime() - event.start;
+        record(Phase.INFERENCE, elapsed);
+        inferences.add(rows);
+        inferenceLatency.record(elapsed);
+        if (event.shouldCommit()) {
+            event.rows = rows;
+            event.commit();
+        }
+    }
+
+    public long getNanos(Phase phase) {
+        return nanos[phase.ordinal()].sum();
+    }
+
+    public long getSamples() {
+        return samples.sum();
+    }
+
+    public long getBatches() {
+        return batches.sum();
+    }
+
+    public long getEpochs() {
+        return epochs.sum();
+    }
+
+    public long getInferences() {
+        return inferences.sum();
+    }
+
+    public double getSamplesPerSecond() {
+        return rate(samples.sum(), Phase.EPOCH);
+    }
+
+    public double getBatchesPerSecond() {
+        return rate(batches.sum(), Phase.EPOCH);
+    }
+
+    public double getInferencesPerSecond() {
+        return rate(inferences.sum(), Phase.INFERENCE);
+    }
+
+    public LatencyHistogram getInferenceLatency() {
+        return inferenceLatency;
+    }
+
+    private double rate(long count, Phase phase) {
+        long elapsed = getNanos(phase);
+        return elapsed == 0 ? 0. : count * NANOS_PER_SECOND / elapsed;
+    }
+
+    public void reset() {
+        for (LongAdder adder : nanos) {
+            adder.reset();
+        }
+        samples.reset();
+        batches.reset();
+        epochs.reset();
+        inferences.reset();
+        inferenceLatency.reset();
+    }
+}
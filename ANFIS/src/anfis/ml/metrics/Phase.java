@@ -0,0 +1,12 @@
+package anfis.ml.metrics;
+
+public enum Phase {
+    EPOCH,
+    PREPROCESS,
+    FORWARD,
+    BACKWARD,
+    UPDATE,
+    POSTPROCESS,
+    EVALUATION,
+    INFERENCE
+}
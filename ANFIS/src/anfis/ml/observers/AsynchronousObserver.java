@@ -0,0 +1,97 @@
+package anfis.ml.observers;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public final class AsynchronousObserver implements ModelObserver, AutoCloseable {
+
+    private static final int DEFAULT_CAPACITY = 1024;
+    private static final long IDLE_NANOS = 1_000_000L;
+
+    public enum OverflowPolicy {
+        DROP_NEWEST,
+        DROP_OLDEST
+    }
+
+    private final ModelObserver observer;
+    private final OverflowPolicy policy;
+    private final RingBuffer<IterationStatistics> buffer;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final Thread dispatcher;
+
+    private volatile boolean isWaiting;
+    private volatile boolean isClosed;
+
+    public AsynchronousObserver(ModelObserver observer) {
+        this(observer, DEFAULT_CAPACITY, OverflowPolicy.DROP_OLDEST);
+    }
+
+    public AsynchronousObserver(ModelObserver observer, int capacity, OverflowPolicy policy) {
+        this.observer = Objects.requireNonNull(observer);
+        this.policy = Objects.requireNonNull(policy);
+        this.buffer = new RingBuffer<>(capacity);
+        this.dispatcher = new Thread(this::dispatch, "anfis-observer");
+        dispatcher.setDaemon(true);
+        dispatcher.start();
+    }
+
+    @Override
+    public void update(IterationStatistics statistics) {
+        if (isClosed) {
+            dropped.increment();
+            return;
+        }
+        IterationStatistics snapshot = IterationStatistics.snapshot(statistics);
+        if (!buffer.offer(snapshot)) {
+            if (policy == OverflowPolicy.DROP_OLDEST && buffer.poll() != null) dropped.increment();
+            if (policy == OverflowPolicy.DROP_NEWEST || !buffer.offer(snapshot)) {
+                dropped.increment();
+                return;
+            }
+        }
+        if (isWaiting) LockSupport.unpark(dispatcher);
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public int getCapacity() {
+        return buffer.capacity();
+    }
+
+    private void dispatch() {
+        while (true) {
+            IterationStatistics statistics = buffer.poll();
+            if (statistics != null) {
+                try {
+                    observer.update(statistics);
+                } catch (RuntimeException e) {
+                    failures.increment();
+                }
+                continue;
+            }
+            if (isClosed && buffer.isEmpty()) return;
+            isWaiting = true;
+            if (buffer.isEmpty() && !isClosed) LockSupport.parkNanos(this, IDLE_NANOS);
+            isWaiting = false;
+        }
+    }
+
+    @Override
+    public void close() {
+        isClosed = true;
+        LockSupport.unpark(dispatcher);
+        try {
+            dispatcher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,11 +1,37 @@
 package anfis.ml.observers;
 
+import anfis.ml.metrics.MetricsRegistry;
+
 public interface IterationStatistics {
 
     double getError();
 
     int getIteration();
 
+    default double getErrorBound() {
+        return 0.;
+    }
+
+    default int getErrorIteration() {
+        return getIteration();
+    }
+
+    default boolean isExact() {
+        return true;
+    }
+
+    default boolean isEvaluated() {
+        return true;
+    }
+
+    default double getExactError() {
+        return getError();
+    }
+
+    default MetricsRegistry getMetrics() {
+        return null;
+    }
+
     static IterationStatistics of(LossFunctionScoreExtractor extractor, int iteration) {
         return new IterationStatistics() {
 
@@ -25,6 +51,11 @@ public interface IterationStatistics {
             public int getIteration() {
                 return iteration;
             }
+
+            @Override
+            public boolean isEvaluated() {
+                return isExtracted;
+            }
         };
     }
 
@@ -42,9 +73,59 @@ public interface IterationStatistics {
         };
     }
 
+    static IterationStatistics snapshot(IterationStatistics statistics) {
+        boolean isEvaluated = statistics.isExact() || statistics.isEvaluated();
+        double error = isEvaluated ? statistics.getError() : Double.NaN;
+        double errorBound = isEvaluated ? statistics.getErrorBound() : Double.NaN;
+        boolean isExact = isEvaluated && statistics.isExact();
+        int iteration = statistics.getIteration();
+        int errorIteration = statistics.getErrorIteration();
+        MetricsRegistry metrics = statistics.getMetrics();
+        return new IterationStatistics() {
+            @Override
+            public double getError() {
+                return error;
+            }
+
+            @Override
+            public int getIteration() {
+                return iteration;
+            }
+
+            @Override
+            public double getErrorBound() {
+                return errorBound;
+            }
+
+            @Override
+            public int getErrorIteration() {
+                return errorIteration;
+            }
+
+            @Override
+            public boolean isExact() {
+                return isExact;
+            }
+
+            @Override
+            public boolean isEvaluated() {
+                return isEvaluated;
+            }
+
+            @Override
+            public double getExactError() {
+                return isExact ? error : Double.NaN;
+            }
+
+            @Override
+            public MetricsRegistry getMetrics() {
+                return metrics;
+            }
+        };
+    }
+
     interface LossFunctionScoreExtractor {
 
         double extract();
     }
 }
-
@@ -14,7 +14,7 @@ public class IterationStatisticsCollector implements ModelObserver {
 
     @Override
     public void update(IterationStatistics statistics) {
-        collection.add(statistics);
+        collection.add(IterationStatistics.snapshot(statistics));
     }
 
     public void clear() {
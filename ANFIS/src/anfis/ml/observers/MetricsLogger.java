@@ -0,0 +1,41 @@
+package anfis.ml.observers;
+
+import anfis.ml.metrics.MetricsRegistry;
+import anfis.ml.metrics.Phase;
+
+public final class MetricsLogger implements ModelObserver {
+
+    private static final Phase[] WALL_CLOCK_PHASES = {Phase.PREPROCESS, Phase.POSTPROCESS, Phase.EVALUATION};
+    private static final Phase[] WORKER_PHASES = {Phase.FORWARD, Phase.BACKWARD, Phase.UPDATE};
+
+    @Override
+    public void update(IterationStatistics statistics) {
+        MetricsRegistry metrics = statistics.getMetrics();
+        if (metrics == null) return;
+
+        StringBuilder line = new StringBuilder()
+                .append("Iteration: ").append(statistics.getIteration())
+                .append(" | Samples/s: ").append(String.format("%.0f", metrics.getSamplesPerSecond()))
+                .append(" | Batches/s: ").append(String.format("%.0f", metrics.getBatchesPerSecond()));
+        long wallClock = metrics.getNanos(Phase.EPOCH) + metrics.getNanos(Phase.EVALUATION);
+        appendShares(line, metrics, WALL_CLOCK_PHASES, wallClock);
+
+        long workerTime = 0L;
+        line.append(" | Worker-seconds:");
+        for (Phase phase : WORKER_PHASES) {
+            long nanos = metrics.getNanos(phase);
+            workerTime += nanos;
+            line.append(' ').append(phase).append(' ').append(String.format("%.3f", nanos / 1e9));
+        }
+        long parallelTime = metrics.getNanos(Phase.EPOCH) - metrics.getNanos(Phase.PREPROCESS) - metrics.getNanos(Phase.POSTPROCESS);
+        line.append(" | Speedup: ").append(String.format("%.1fx", parallelTime <= 0 ? 0. : (double) workerTime / parallelTime));
+        System.out.println(line);
+    }
+
+    private static void appendShares(StringBuilder line, MetricsRegistry metrics, Phase[] phases, long total) {
+        for (Phase phase : phases) {
+            double share = total == 0 ? 0. : 100. * metrics.getNanos(phase) / total;
+            line.append(" | ").append(phase).append(": ").append(String.format("%.1f%%", share));
+        }
+    }
+}
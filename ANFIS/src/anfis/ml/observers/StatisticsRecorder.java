@@ -0,0 +1,77 @@
+package anfis.ml.observers;
+
+import java.util.Arrays;
+
+public final class StatisticsRecorder implements ModelObserver {
+
+    private static final int DEFAULT_CAPACITY = 4096;
+
+    private final int[] iterations;
+    private final double[] errors;
+    private final long[] timestamps;
+
+    private int size;
+    private int stride = 1;
+    private long updates;
+
+    public StatisticsRecorder() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public StatisticsRecorder(int capacity) {
+        if (capacity < 2) throw new IllegalArgumentException("Capacity must be at least 2, got: " + capacity);
+        iterations = new int[capacity];
+        errors = new double[capacity];
+        timestamps = new long[capacity];
+    }
+
+    @Override
+    public void update(IterationStatistics statistics) {
+        if (updates++ % stride != 0) return;
+        if (size == iterations.length) downsample();
+        if ((updates - 1) % stride != 0) return;
+
+        iterations[size] = statistics.getIteration();
+        errors[size] = statistics.getError();
+        timestamps[size] = System.nanoTime();
+        size++;
+    }
+
+    private void downsample() {
+        int kept = 0;
+        for (int k = 0; k < size; k += 2) {
+            iterations[kept] = iterations[k];
+            errors[kept] = errors[k];
+            timestamps[kept] = timestamps[k];
+            kept++;
+        }
+        size = kept;
+        stride *= 2;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int getStride() {
+        return stride;
+    }
+
+    public int[] iterations() {
+        return Arrays.copyOf(iterations, size);
+    }
+
+    public double[] errors() {
+        return Arrays.copyOf(errors, size);
+    }
+
+    public long[] timestamps() {
+        return Arrays.copyOf(timestamps, size);
+    }
+
+    public void clear() {
+        size = 0;
+        stride = 1;
+        updates = 0;
+    }
+}
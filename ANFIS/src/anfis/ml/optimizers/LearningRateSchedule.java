@@ -0,0 +1,6 @@
+package anfis.ml.optimizers;
+
+public interface LearningRateSchedule {
+
+    double factor(int epoch);
+}
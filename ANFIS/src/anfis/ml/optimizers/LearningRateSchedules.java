@@ -0,0 +1,47 @@
+package anfis.ml.optimizers;
+
+public final class LearningRateSchedules {
+
+    private LearningRateSchedules() {
+    }
+
+    public static LearningRateSchedule constant() {
+        return epoch -> 1.;
+    }
+
+    public static LearningRateSchedule step(int period, double gamma) {
+        checkPeriod(period);
+        checkDecay(gamma);
+        return epoch -> Math.pow(gamma, epoch / period);
+    }
+
+    public static LearningRateSchedule exponential(double gamma) {
+        checkDecay(gamma);
+        return epoch -> Math.pow(gamma, epoch);
+    }
+
+    public static LearningRateSchedule inverseTime(double decay) {
+        if (decay < 0.) throw new IllegalArgumentException("Decay must not be negative, got: " + decay);
+        return epoch -> 1. / (1. + decay * epoch);
+    }
+
+    public static LearningRateSchedule cosine(int period, double minimumFactor) {
+        checkPeriod(period);
+        if (minimumFactor < 0. || minimumFactor > 1.)
+            throw new IllegalArgumentException("Minimum factor must be in [0, 1], got: " + minimumFactor);
+        return epoch -> minimumFactor + 0.5 * (1. - minimumFactor) * (1. + Math.cos(Math.PI * Math.min(epoch, period) / period));
+    }
+
+    public static LearningRateSchedule warmup(int epochs, LearningRateSchedule schedule) {
+        checkPeriod(epochs);
+        return epoch -> epoch < epochs ? (epoch + 1.) / epochs * schedule.factor(0) : schedule.factor(epoch - epochs);
+    }
+
+    private static void checkPeriod(int period) {
+        if (period < 1) throw new IllegalArgumentException("Period must be positive, got: " + period);
+    }
+
+    private static void checkDecay(double gamma) {
+        if (gamma <= 0. || gamma > 1.) throw new IllegalArgumentException("Decay factor must be in (0, 1], got: " + gamma);
+    }
+}
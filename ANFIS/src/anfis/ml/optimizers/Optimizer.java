@@ -0,0 +1,14 @@
+package anfis.ml.optimizers;
+
+public interface Optimizer {
+
+    State initialize(int size);
+
+    interface State {
+
+        default void step() {
+        }
+
+        void update(double[] values, double[] gradient, int from, int to, double learningRate);
+    }
+}
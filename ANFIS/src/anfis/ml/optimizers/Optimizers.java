@@ -0,0 +1,128 @@
+package anfis.ml.optimizers;
+
+public final class Optimizers {
+
+    private static final double DEFAULT_MOMENTUM = 0.9;
+    private static final double DEFAULT_BETA_1 = 0.9;
+    private static final double DEFAULT_BETA_2 = 0.999;
+    private static final double DEFAULT_DECAY = 0.9;
+    private static final double DEFAULT_EPSILON = 1e-8;
+
+    private static final Optimizer.State SGD = (values, gradient, from, to, learningRate) -> {
+        for (int k = from; k < to; k++) {
+            values[k] += learningRate * gradient[k];
+        }
+    };
+
+    private Optimizers() {
+    }
+
+    public static Optimizer sgd() {
+        return size -> SGD;
+    }
+
+    public static Optimizer momentum() {
+        return momentum(DEFAULT_MOMENTUM, false);
+    }
+
+    public static Optimizer nesterov() {
+        return momentum(DEFAULT_MOMENTUM, true);
+    }
+
+    public static Optimizer momentum(double momentum, boolean nesterov) {
+        checkCoefficient("Momentum", momentum);
+        return size -> {
+            double[] velocity = new double[size];
+            return (values, gradient, from, to, learningRate) -> {
+                for (int k = from; k < to; k++) {
+                    double step = learningRate * gradient[k];
+                    double v = momentum * velocity[k] + step;
+                    velocity[k] = v;
+                    values[k] += nesterov ? momentum * v + step : v;
+                }
+            };
+        };
+    }
+
+    public static Optimizer adam() {
+        return adam(DEFAULT_BETA_1, DEFAULT_BETA_2, DEFAULT_EPSILON);
+    }
+
+    public static Optimizer adam(double beta1, double beta2, double epsilon) {
+        checkCoefficient("Beta 1", beta1);
+        checkCoefficient("Beta 2", beta2);
+        checkEpsilon(epsilon);
+        return size -> new AdamState(size, beta1, beta2, epsilon);
+    }
+
+    public static Optimizer rmsProp() {
+        return rmsProp(DEFAULT_DECAY, DEFAULT_EPSILON);
+    }
+
+    public static Optimizer rmsProp(double decay, double epsilon) {
+        checkCoefficient("Decay", decay);
+        checkEpsilon(epsilon);
+        return size -> {
+            double[] meanSquare = new double[size];
+            return (values, gradient, from, to, learningRate) -> {
+                for (int k = from; k < to; k++) {
+                    double g = gradient[k];
+                    double s = decay * meanSquare[k] + (1. - decay) * g * g;
+                    meanSquare[k] = s;
+                    values[k] += learningRate * g / (Math.sqrt(s) + epsilon);
+                }
+            };
+        };
+    }
+
+    private static final class AdamState implements Optimizer.State {
+
+        private final double beta1;
+        private final double beta2;
+        private final double epsilon;
+
+        private final double[] mean;
+        private final double[] meanSquare;
+
+        private double beta1Power = 1.;
+        private double beta2Power = 1.;
+        private double meanCorrection;
+        private double meanSquareCorrection;
+
+        AdamState(int size, double beta1, double beta2, double epsilon) {
+            this.beta1 = beta1;
+            this.beta2 = beta2;
+            this.epsilon = epsilon;
+            this.mean = new double[size];
+            this.meanSquare = new double[size];
+        }
+
+        @Override
+        public void step() {
+            beta1Power *= beta1;
+            beta2Power *= beta2;
+            meanCorrection = 1. / (1. - beta1Power);
+            meanSquareCorrection = 1. / (1. - beta2Power);
+        }
+
+        @Override
+        public void update(double[] values, double[] gradient, int from, int to, double learningRate) {
+            for (int k = from; k < to; k++) {
+                double g = gradient[k];
+                double m = beta1 * mean[k] + (1. - beta1) * g;
+                double s = beta2 * meanSquare[k] + (1. - beta2) * g * g;
+                mean[k] = m;
+                meanSquare[k] = s;
+                values[k] += learningRate * m * meanCorrection / (Math.sqrt(s * meanSquareCorrection) + epsilon);
+            }
+        }
+    }
+
+    private static void checkCoefficient(String name, double value) {
+        if (value < 0. || value >= 1.) throw new IllegalArgumentException(name + " must be in [0, 1), got: " + value);
+    }
+
+    private static void checkEpsilon(double epsilon) {
+        if (epsilon <= 0.) throw new IllegalArgumentException("Epsilon must be positive, got: " + epsilon);
+    }
+}
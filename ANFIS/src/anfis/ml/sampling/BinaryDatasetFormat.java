@@ -0,0 +1,106 @@
+package anfis.ml.sampling;
+
+import anfis.ml.exceptions.InvalidDatasetException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+final class BinaryDatasetFormat {
+
+    static final int MAGIC = 0x414E4644;
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 32;
+
+    static final int DOUBLE_PRECISION = Double.BYTES;
+    static final int SINGLE_PRECISION = Float.BYTES;
+
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private static final int WRITE_BUFFER_SIZE = 1 << 16;
+
+    private BinaryDatasetFormat() {
+    }
+
+    record Header(int inputDimension, int outputDimension, long size, int elementSize) {
+
+        int stride() {
+            return Math.addExact(inputDimension, outputDimension);
+        }
+
+        long rowBytes() {
+            return Math.multiplyExact((long) stride(), elementSize);
+        }
+
+        long dataBytes() {
+            return Math.multiplyExact(size, rowBytes());
+        }
+    }
+
+    static Header readHeader(FileChannel channel) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE).order(ORDER);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, buffer.position()) < 0) throw new InvalidDatasetException("truncated header");
+        }
+        buffer.flip();
+
+        if (buffer.getInt() != MAGIC) throw new InvalidDatasetException("not a binary dataset");
+        int version = buffer.getInt();
+        if (version != VERSION) throw new InvalidDatasetException("unsupported version " + version);
+
+        Header header = new Header(buffer.getInt(), buffer.getInt(), buffer.getLong(), buffer.getInt());
+        if (header.inputDimension() <= 0 || header.outputDimension() <= 0)
+            throw new InvalidDatasetException("invalid dimensions " + header.inputDimension() + " x " + header.outputDimension());
+        if (header.size() <= 0) throw new InvalidDatasetException("invalid row count " + header.size());
+        if (header.elementSize() != DOUBLE_PRECISION && header.elementSize() != SINGLE_PRECISION)
+            throw new InvalidDatasetException("unsupported element size " + header.elementSize());
+
+        long expected;
+        try {
+            expected = Math.addExact(HEADER_SIZE, header.dataBytes());
+        } catch (ArithmeticException e) {
+            throw new InvalidDatasetException("header overflows: " + header);
+        }
+        if (channel.size() < expected) throw new InvalidDatasetException("truncated data");
+        return header;
+    }
+
+    static void write(Dataset samples, Path path, int elementSize) throws IOException {
+        if (samples.isEmpty()) throw new InvalidDatasetException("empty dataset");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE).order(ORDER);
+            buffer.putInt(MAGIC)
+                    .putInt(VERSION)
+                    .putInt(samples.inputDimension())
+                    .putInt(samples.outputDimension())
+                    .putLong(samples.size())
+                    .putInt(elementSize)
+                    .putInt(0);
+
+            double[] data = samples.data();
+            int stride = samples.stride();
+            for (int row = 0, n = samples.size(); row < n; row++) {
+                for (int k = samples.offset(row), end = k + stride; k < end; k++) {
+                    if (buffer.remaining() < elementSize) drain(channel, buffer);
+                    if (elementSize == DOUBLE_PRECISION) {
+                        buffer.putDouble(data[k]);
+                    } else {
+                        buffer.putFloat((float) data[k]);
+                    }
+                }
+            }
+            drain(channel, buffer);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
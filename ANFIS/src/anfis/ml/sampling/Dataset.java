@@ -0,0 +1,192 @@
+package anfis.ml.sampling;
+
+import anfis.ml.exceptions.InvalidDatasetException;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.random.RandomGenerator;
+
+public final class Dataset {
+
+    private final double[] data;
+    private final int[] index;
+    private final int first;
+    private final int size;
+    private final int inputDimension;
+    private final int outputDimension;
+    private final int stride;
+
+    public Dataset(double[] data, int inputDimension, int outputDimension) {
+        this(data, null, 0, rowCount(data.length, inputDimension + outputDimension), inputDimension, outputDimension);
+    }
+
+    private Dataset(double[] data, int[] index, int first, int size, int inputDimension, int outputDimension) {
+        this.data = data;
+        this.index = index;
+        this.first = first;
+        this.size = size;
+        this.inputDimension = inputDimension;
+        this.outputDimension = outputDimension;
+        this.stride = inputDimension + outputDimension;
+    }
+
+    private static int rowCount(int length, int stride) {
+        if (stride <= 0 || length % stride != 0) throw new InvalidDatasetException("data length is not a multiple of row length");
+        return length / stride;
+    }
+
+    public static Dataset allocate(int size, int inputDimension, int outputDimension) {
+        return new Dataset(new double[Math.multiplyExact(size, inputDimension + outputDimension)], inputDimension, outputDimension);
+    }
+
+    public static Dataset of(List<Sample> samples) {
+        if (samples.isEmpty()) throw new InvalidDatasetException("no samples");
+
+        int inputDimension = samples.get(0).x().length;
+        int outputDimension = samples.get(0).y().length;
+        Dataset dataset = allocate(samples.size(), inputDimension, outputDimension);
+
+        int row = 0;
+        for (Sample sample : samples) {
+            if (sample.x().length != inputDimension || sample.y().length != outputDimension)
+                throw new InvalidDatasetException("sample " + row + " differs in dimension");
+            dataset.set(row++, sample.x(), sample.y());
+        }
+        return dataset;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int inputDimension() {
+        return inputDimension;
+    }
+
+    public int outputDimension() {
+        return outputDimension;
+    }
+
+    public int stride() {
+        return stride;
+    }
+
+    public double[] data() {
+        return data;
+    }
+
+    public boolean isContiguous() {
+        return index == null;
+    }
+
+    public int offset(int row) {
+        return (index == null ? first + row : index[first + row]) * stride;
+    }
+
+    public int targetOffset(int row) {
+        return offset(row) + inputDimension;
+    }
+
+    public double x(int row, int column) {
+        return data[offset(row) + column];
+    }
+
+    public double y(int row, int column) {
+        return data[targetOffset(row) + column];
+    }
+
+    public double[] x(int row) {
+        int offset = offset(row);
+        return Arrays.copyOfRange(data, offset, offset + inputDimension);
+    }
+
+    public double[] y(int row) {
+        int offset = targetOffset(row);
+        return Arrays.copyOfRange(data, offset, offset + outputDimension);
+    }
+
+    public Sample get(int row) {
+        return new Sample(x(row), y(row));
+    }
+
+    public void set(int row, double[] x, double[] y) {
+        int offset = offset(row);
+        System.arraycopy(x, 0, data, offset, inputDimension);
+        System.arraycopy(y, 0, data, offset + inputDimension, outputDimension);
+    }
+
+    public void copyRow(int row, Dataset target, int targetRow) {
+        System.arraycopy(data, offset(row), target.data, target.offset(targetRow), stride);
+    }
+
+    public Dataset rows(int from, int to) {
+        if (from < 0 || to > size || from > to) throw new IndexOutOfBoundsException("Rows [" + from + ", " + to + ") out of bounds for size " + size);
+        return new Dataset(data, index, first + from, to - from, inputDimension, outputDimension);
+    }
+
+    public Dataset view() {
+        int[] rows = new int[size];
+        for (int row = 0; row < size; row++) {
+            rows[row] = offset(row) / stride;
+        }
+        return new Dataset(data, rows, 0, size, inputDimension, outputDimension);
+    }
+
+    public Dataset copy() {
+        if (index != null) {
+            Dataset copy = allocate(size, inputDimension, outputDimension);
+            for (int row = 0; row < size; row++) {
+                copyRow(row, copy, row);
+            }
+            return copy;
+        }
+        int from = offset(0);
+        return new Dataset(Arrays.copyOfRange(data, from, from + size * stride), inputDimension, outputDimension);
+    }
+
+    public void shuffle(RandomGenerator random) {
+        if (index != null) {
+            for (int i = size; i > 1; i--) {
+                int j = first + random.nextInt(i);
+                int last = first + i - 1;
+                int row = index[last];
+                index[last] = index[j];
+                index[j] = row;
+            }
+            return;
+        }
+        double[] buffer = new double[stride];
+        for (int i = size; i > 1; i--) {
+            swap(i - 1, random.nextInt(i), buffer);
+        }
+    }
+
+    private void swap(int i, int j, double[] buffer) {
+        if (i == j) return;
+        int a = offset(i);
+        int b = offset(j);
+        System.arraycopy(data, a, buffer, 0, stride);
+        System.arraycopy(data, b, data, a, stride);
+        System.arraycopy(buffer, 0, data, b, stride);
+    }
+
+    public List<Sample> samples() {
+        return new AbstractList<>() {
+            @Override
+            public Sample get(int index) {
+                return Dataset.this.get(Objects.checkIndex(index, size));
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+}
@@ -0,0 +1,19 @@
+package anfis.ml.sampling;
+
+import java.util.Iterator;
+
+public interface DatasetSource {
+
+    int inputDimension();
+
+    int outputDimension();
+
+    BlockIterator blocks();
+
+    interface BlockIterator extends Iterator<Dataset>, AutoCloseable {
+
+        @Override
+        default void close() {
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package anfis.ml.sampling;
+
+import anfis.ml.exceptions.InvalidDatasetException;
+import anfis.ml.sampling.DatasetSource.BlockIterator;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.random.RandomGenerator;
+
+public final class DatasetSources {
+
+    private static final byte TEXT_DELIMITER = ';';
+
+    private DatasetSources() {
+    }
+
+    public static DatasetSource of(Dataset samples, int blockSize) {
+        checkBlockSize(blockSize);
+        return new DatasetSource() {
+            @Override
+            public int inputDimension() {
+                return samples.inputDimension();
+            }
+
+            @Override
+            public int outputDimension() {
+                return samples.outputDimension();
+            }
+
+            @Override
+            public BlockIterator blocks() {
+                return iterator(Sampling.partition(samples, blockSize).iterator());
+            }
+        };
+    }
+
+    public static DatasetSource of(MappedDataset samples, int blockSize) {
+        return of(samples, blockSize, null);
+    }
+
+    public static DatasetSource of(MappedDataset samples, int blockSize, RandomGenerator random) {
+        checkBlockSize(blockSize);
+        return new DatasetSource() {
+            @Override
+            public int inputDimension() {
+                return samples.inputDimension();
+            }
+
+            @Override
+            public int outputDimension() {
+                return samples.outputDimension();
+            }
+
+            @Override
+            public BlockIterator blocks() {
+                long size = samples.size();
+                int[] order = new int[Math.toIntExact((size + blockSize - 1) / blockSize)];
+                for (int i = 0; i < order.length; i++) {
+                    order[i] = i;
+                }
+                if (random != null) {
+                    for (int i = order.length; i > 1; i--) {
+                        int j = random.nextInt(i);
+                        int swap = order[i - 1];
+                        order[i - 1] = order[j];
+                        order[j] = swap;
+                    }
+                }
+
+                return new BlockIterator() {
+
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < order.length;
+                    }
+
+                    @Override
+                    public Dataset next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        long from = (long) order[next++] * blockSize;
+                        return samples.block(from, (int) Math.min(blockSize, size - from));
+                    }
+                };
+            }
+        };
+    }
+
+    public static DatasetSource of(Iterable<Sample> samples, int blockSize) {
+        checkBlockSize(blockSize);
+        Iterator<Sample> peek = samples.iterator();
+        if (!peek.hasNext()) throw new InvalidDatasetException("no samples");
+        Sample first = peek.next();
+        int inputDimension = first.x().length;
+        int outputDimension = first.y().length;
+
+        return new DatasetSource() {
+            @Override
+            public int inputDimension() {
+                return inputDimension;
+            }
+
+            @Override
+            public int outputDimension() {
+                return outputDimension;
+            }
+
+            @Override
+            public BlockIterator blocks() {
+                Iterator<Sample> iterator = samples.iterator();
+                return new BlockIterator() {
+                    @Override
+                    public boolean hasNext() {
+                        return iterator.hasNext();
+                    }
+
+                    @Override
+                    public Dataset next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        Dataset block = Dataset.allocate(blockSize, inputDimension, outputDimension);
+                        int count = 0;
+                        while (count < blockSize && iterator.hasNext()) {
+                            Sample sample = iterator.next();
+                            if (sample.x().length != inputDimension || sample.y().length != outputDimension)
+                                throw new InvalidDatasetException("sample differs in dimension");
+                            block.set(count++, sample.x(), sample.y());
+                        }
+                        return count == blockSize ? block : block.rows(0, count);
+                    }
+                };
+            }
+        };
+    }
+
+    public static DatasetSource text(String path, int blockSize) throws IOException {
+        return text(path, blockSize, 1);
+    }
+
+    public static DatasetSource text(String path, int blockSize, int outputDimension) throws IOException {
+        checkBlockSize(blockSize);
+        if (outputDimension < 1) throw new IllegalArgumentException("Output dimension must be positive, got: " + outputDimension);
+        int inputDimension;
+        try (DelimitedLineReader reader = openText(path)) {
+            if (!reader.next()) throw new InvalidDatasetException("no samples");
+            inputDimension = reader.parse(null, 0, 0) - outputDimension;
+            if (inputDimension < 1) throw new InvalidDatasetException("expected at least " + (outputDimension + 1) + " values");
+        }
+
+        return new DatasetSource() {
+            @Override
+            public int inputDimension() {
+                return inputDimension;
+            }
+
+            @Override
+            public int outputDimension() {
+                return outputDimension;
+            }
+
+            @Override
+            public BlockIterator blocks() {
+                DelimitedLineReader reader;
+                try {
+                    reader = openText(path);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+
+                return new BlockIterator() {
+
+                    private boolean hasLine = read();
+
+                    private boolean read() {
+                        try {
+                            return reader.next();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        return hasLine;
+                    }
+
+                    @Override
+                    public Dataset next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        Dataset block = Dataset.allocate(blockSize, inputDimension, outputDimension);
+                        double[] data = block.data();
+                        int stride = inputDimension + outputDimension;
+                        int count = 0;
+                        while (count < blockSize && hasLine) {
+                            if (reader.parse(data, block.offset(count), stride) != stride)
+                                throw new InvalidDatasetException("sample differs in dimension");
+                            count++;
+                            hasLine = read();
+                        }
+                        return count == blockSize ? block : block.rows(0, count);
+                    }
+
+                    @Override
+                    public void close() {
+                        try {
+                            reader.close();
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                };
+            }
+        };
+    }
+
+    private static DelimitedLineReader openText(String path) throws IOException {
+        return new DelimitedLineReader(Files.newInputStream(Path.of(path)), TEXT_DELIMITER);
+    }
+
+    public static DatasetSource shuffled(DatasetSource source, int bufferSize, int blockSize, RandomGenerator random) {
+        checkBlockSize(blockSize);
+        if (bufferSize < 1) throw new IllegalArgumentException("Buffer size must be positive, got: " + bufferSize);
+        return new DatasetSource() {
+            @Override
+            public int inputDimension() {
+                return source.inputDimension();
+            }
+
+            @Override
+            public int outputDimension() {
+                return source.outputDimension();
+            }
+
+            @Override
+            public BlockIterator blocks() {
+                BlockIterator upstream = source.blocks();
+                Dataset buffer = Dataset.allocate(bufferSize, source.inputDimension(), source.outputDimension());
+
+                return new BlockIterator() {
+
+                    private Dataset current;
+                    private int currentRow;
+                    private int filled;
+
+                    private boolean pull(int row) {
+                        while (current == null || currentRow == current.size()) {
+                            if (!upstream.hasNext()) return false;
+                            current = upstream.next();
+                            currentRow = 0;
+                        }
+                        current.copyRow(currentRow++, buffer, row);
+                        return true;
+                    }
+
+                    private void fill() {
+                        while (filled < bufferSize && pull(filled)) {
+                            filled++;
+                        }
+                    }
+
+                    @Override
+                    public boolean hasNext() {
+                        fill();
+                        return filled > 0;
+                    }
+
+                    @Override
+                    public Dataset next() {
+                        if (!hasNext()) throw new NoSuchElementException();
+                        Dataset block = Dataset.allocate(blockSize, source.inputDimension(), source.outputDimension());
+                        int count = 0;
+                        while (count < blockSize && filled > 0) {
+                            int row = random.nextInt(filled);
+                            buffer.copyRow(row, block, count++);
+                            if (!pull(row)) {
+                                buffer.copyRow(--filled, buffer, row);
+                            }
+                        }
+                        return count == blockSize ? block : block.rows(0, count);
+                    }
+
+                    @Override
+                    public void close() {
+                        upstream.close();
+                    }
+                };
+            }
+        };
+    }
+
+    public static Dataset sample(DatasetSource source, int size, RandomGenerator random) {
+        if (size < 1) throw new IllegalArgumentException("Sample size must be positive, got: " + size);
+        Dataset reservoir = Dataset.allocate(size, source.inputDimension(), source.outputDimension());
+        long seen = 0;
+        try (BlockIterator blocks = source.blocks()) {
+            while (blocks.hasNext()) {
+                Dataset block = blocks.next();
+                for (int row = 0, n = block.size(); row < n; row++, seen++) {
+                    if (seen < size) {
+                        block.copyRow(row, reservoir, (int) seen);
+                    } else {
+                        long slot = random.nextLong(seen + 1);
+                        if (slot < size) block.copyRow(row, reservoir, (int) slot);
+                    }
+                }
+            }
+        }
+        if (seen == 0) throw new InvalidDatasetException("no samples");
+        return seen < size ? reservoir.rows(0, (int) seen) : reservoir;
+    }
+
+    public static DatasetSource prefetching(DatasetSource source, int depth) {
+        if (depth < 1) throw new IllegalArgumentException("Prefetch depth must be positive, got: " + depth);
+        return new DatasetSource() {
+            @Override
+            public int inputDimension() {
+                return source.inputDimension();
+            }
+
+            @Override
+            public int outputDimension() {
+                return source.outputDimension();
+            }
+
+            @Override
+            public BlockIterator blocks() {
+                return new PrefetchingIterator(source.blocks(), depth);
+            }
+        };
+    }
+
+    private static final class PrefetchingIterator implements BlockIterator {
+
+        private static final Object END = new Object();
+
+        private final BlockingQueue<Object> queue;
+        private final Thread producer;
+        private volatile Throwable failure;
+        private Object next;
+
+        PrefetchingIterator(BlockIterator upstream, int depth) {
+            queue = new ArrayBlockingQueue<>(depth);
+            producer = new Thread(() -> {
+                try (upstream) {
+                    while (upstream.hasNext()) {
+                        queue.put(upstream.next());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (Throwable e) {
+                    failure = e;
+                } finally {
+                    try {
+                        queue.put(END);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            }, "anfis-prefetch");
+            producer.setDaemon(true);
+            producer.start();
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for the next block", e);
+                }
+            }
+            if (next != END) return true;
+            Throwable cause = failure;
+            if (cause instanceof RuntimeException exception) throw exception;
+            if (cause instanceof Error error) throw error;
+            if (cause != null) throw new IllegalStateException(cause);
+            return false;
+        }
+
+        @Override
+        public Dataset next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            Dataset block = (Dataset) next;
+            next = null;
+            return block;
+        }
+
+        @Override
+        public void close() {
+            producer.interrupt();
+        }
+    }
+
+    private static BlockIterator iterator(Iterator<Dataset> iterator) {
+        return new BlockIterator() {
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Dataset next() {
+                return iterator.next();
+            }
+        };
+    }
+
+    private static void checkBlockSize(int blockSize) {
+        if (blockSize < 1) throw new IllegalArgumentException("Block size must be positive, got: " + blockSize);
+    }
+}
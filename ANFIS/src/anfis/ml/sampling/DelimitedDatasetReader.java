@@ -0,0 +1,281 @@
+package anfis.ml.sampling;
+
+import anfis.ml.exceptions.InvalidDatasetException;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+public final class DelimitedDatasetReader {
+
+    private static final long MAX_CHUNK_SIZE = 1 << 23;
+    private static final long MIN_CHUNK_SIZE = 1 << 20;
+    private static final int SCAN_BUFFER_SIZE = 1 << 13;
+
+    private byte delimiter = ';';
+    private int headerRows;
+    private int[] featureColumns;
+    private int[] targetColumns;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    public void setDelimiter(char delimiter) {
+        if (delimiter > 0x7F || delimiter == '\n' || delimiter == '\r')
+            throw new IllegalArgumentException("Delimiter must be a single-byte character other than a line break");
+        this.delimiter = (byte) delimiter;
+    }
+
+    public void setHeaderRows(int headerRows) {
+        if (headerRows < 0) throw new IllegalArgumentException("Header rows must not be negative, got: " + headerRows);
+        this.headerRows = headerRows;
+    }
+
+    public void setFeatureColumns(int... featureColumns) {
+        this.featureColumns = featureColumns.clone();
+    }
+
+    public void setTargetColumns(int... targetColumns) {
+        this.targetColumns = targetColumns.clone();
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be positive, got: " + parallelism);
+        this.parallelism = parallelism;
+    }
+
+    public Dataset read(String path) throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(path), StandardOpenOption.READ)) {
+            Chunk[] chunks = split(channel);
+            if (chunks.length == 0) throw new InvalidDatasetException("empty file");
+
+            ForkJoinPool pool = (parallelism > 1) ? new ForkJoinPool(parallelism) : null;
+            try {
+                int remaining = headerRows;
+                int columns = 0;
+                for (int k = 0; k < chunks.length && (remaining > 0 || columns == 0); k++) {
+                    Chunk chunk = chunks[k];
+                    chunk.load(channel);
+                    remaining = chunk.skipLines(remaining);
+                    if (remaining == 0) columns = chunk.countColumns();
+                    chunk.release();
+                }
+                if (columns == 0) throw new InvalidDatasetException("no data rows");
+
+                int[] slots = slots(columns);
+                int stride = (int) Arrays.stream(slots).filter(slot -> slot >= 0).count();
+                int outputDimension = targetColumns != null ? targetColumns.length : 1;
+
+                forEach(pool, chunks, chunk -> {
+                    chunk.load(channel);
+                    chunk.countRows();
+                    chunk.release();
+                });
+
+                int rows = 0;
+                for (Chunk chunk : chunks) {
+                    chunk.firstRow = rows;
+                    rows = Math.addExact(rows, chunk.rows);
+                }
+
+                Dataset dataset = Dataset.allocate(rows, stride - outputDimension, outputDimension);
+                double[] data = dataset.data();
+                forEach(pool, chunks, chunk -> {
+                    chunk.load(channel);
+                    chunk.parse(data, slots, stride);
+                    chunk.release();
+                });
+                return dataset;
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            } finally {
+                if (pool != null) pool.shutdown();
+            }
+        }
+    }
+
+    private static void forEach(ForkJoinPool pool, Chunk[] chunks, Consumer<Chunk> action) {
+        if (pool == null) {
+            for (Chunk chunk : chunks) {
+                action.accept(chunk);
+            }
+            return;
+        }
+        try {
+            pool.submit(() -> Arrays.stream(chunks).parallel().forEach(action)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while reading", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private Chunk[] split(FileChannel channel) throws IOException {
+        long size = channel.size();
+        long count = Math.max((size + MAX_CHUNK_SIZE - 1) / MAX_CHUNK_SIZE, Math.min(parallelism, (size + MIN_CHUNK_SIZE - 1) / MIN_CHUNK_SIZE));
+
+        long[] boundaries = new long[Math.toIntExact(count) + 1];
+        boundaries[boundaries.length - 1] = size;
+        for (int k = 1; k < count; k++) {
+            boundaries[k] = Math.max(boundaries[k - 1], nextLine(channel, k * size / count));
+        }
+
+        return IntStream.range(0, boundaries.length - 1)
+                .filter(k -> boundaries[k] < boundaries[k + 1])
+                .mapToObj(k -> new Chunk(boundaries[k], Math.toIntExact(boundaries[k + 1] - boundaries[k])))
+                .toArray(Chunk[]::new);
+    }
+
+    private static long nextLine(FileChannel channel, long position) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        long size = channel.size();
+        while (position < size) {
+            buffer.clear();
+            int read = channel.read(buffer, position);
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') return position + i + 1;
+            }
+            position += read;
+        }
+        return size;
+    }
+
+    private int[] slots(int columns) {
+        int[] targets = targetColumns != null ? targetColumns : new int[]{columns - 1};
+        int[] features = featureColumns != null ? featureColumns : IntStream.range(0, columns)
+                .filter(column -> Arrays.stream(targets).noneMatch(target -> target == column))
+                .toArray();
+
+        int width = Math.max(Arrays.stream(features).max().orElse(-1), Arrays.stream(targets).max().orElse(-1)) + 1;
+        int[] slots = new int[width];
+        Arrays.fill(slots, -1);
+        int slot = 0;
+        for (int column : features) {
+            assignSlot(slots, column, slot++);
+        }
+        for (int column : targets) {
+            assignSlot(slots, column, slot++);
+        }
+        return slots;
+    }
+
+    private static void assignSlot(int[] slots, int column, int slot) {
+        if (column < 0) throw new IllegalArgumentException("Column index must not be negative, got: " + column);
+        if (slots[column] >= 0) throw new IllegalArgumentException("Column " + column + " is selected more than once");
+        slots[column] = slot;
+    }
+
+    private final class Chunk {
+
+        private final long position;
+        private final int length;
+        private final FieldParser parser = new FieldParser(delimiter);
+        private byte[] bytes;
+        private int start;
+        private int rows;
+        private int firstRow;
+
+        Chunk(long position, int length) {
+            this.position = position;
+            this.length = length;
+        }
+
+        void load(FileChannel channel) {
+            bytes = new byte[length];
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            try {
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, position + buffer.position()) < 0) throw new EOFException();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            parser.reset(bytes, length);
+        }
+
+        void release() {
+            bytes = null;
+            parser.reset(null, 0);
+        }
+
+        int skipLines(int lines) {
+            while (lines > 0 && start < length) {
+                while (start < length && bytes[start] != '\n') start++;
+                start++;
+                lines--;
+            }
+            return lines;
+        }
+
+        int countColumns() {
+            for (int position = start; position < length; position++) {
+                int content = parser.skipWhitespace(position);
+                if (content == length) break;
+                if (bytes[content] == '\n') {
+                    position = content;
+                    continue;
+                }
+
+                int columns = 1;
+                for (int i = content; i < length && bytes[i] != '\n'; i++) {
+                    if (bytes[i] == delimiter) columns++;
+                }
+                return columns;
+            }
+            return 0;
+        }
+
+        void countRows() {
+            boolean content = false;
+            for (int position = start; position < length; position++) {
+                byte b = bytes[position];
+                if (b == '\n') {
+                    if (content) rows++;
+                    content = false;
+                } else if (!content && !FieldParser.isWhitespace(b)) {
+                    content = true;
+                }
+            }
+            if (content) rows++;
+        }
+
+        void parse(double[] data, int[] slots, int stride) {
+            int row = firstRow;
+            int position = start;
+            while (position < length) {
+                int content = parser.skipWhitespace(position);
+                if (content == length || bytes[content] == '\n') {
+                    position = content + 1;
+                    continue;
+                }
+
+                int offset = row * stride;
+                int parsed = 0;
+                for (int column = 0; ; column++) {
+                    if (column < slots.length && slots[column] >= 0) {
+                        position = parser.parse(position);
+                        data[offset + slots[column]] = parser.value();
+                        parsed++;
+                    } else {
+                        position = parser.fieldEnd(position);
+                    }
+                    if (!parser.isDelimiter(position)) break;
+                    position++;
+                }
+                if (parsed != stride) throw new InvalidDatasetException("row " + row + " is missing selected columns");
+
+                row++;
+                position++;
+            }
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package anfis.ml.sampling;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+final class DelimitedLineReader implements Closeable {
+
+    private static final int INITIAL_BUFFER_SIZE = 1 << 16;
+
+    private final InputStream in;
+    private final FieldParser parser;
+
+    private byte[] buffer = new byte[INITIAL_BUFFER_SIZE];
+    private int position;
+    private int scanned;
+    private int limit;
+    private int lineStart;
+    private boolean eof;
+
+    DelimitedLineReader(InputStream in, byte delimiter) {
+        this.in = in;
+        this.parser = new FieldParser(delimiter);
+    }
+
+    boolean next() throws IOException {
+        while (true) {
+            while (scanned < limit && buffer[scanned] != '\n') scanned++;
+
+            int lineEnd;
+            if (scanned < limit) {
+                lineEnd = scanned;
+            } else if (!eof) {
+                fill();
+                continue;
+            } else if (position < limit) {
+                lineEnd = limit;
+            } else {
+                return false;
+            }
+
+            lineStart = position;
+            position = scanned = Math.min(lineEnd + 1, limit);
+            parser.reset(buffer, lineEnd);
+            if (parser.skipWhitespace(lineStart) < lineEnd) return true;
+        }
+    }
+
+    int parse(double[] target, int offset, int capacity) {
+        int count = 0;
+        int position = lineStart;
+        while (true) {
+            position = parser.parse(position);
+            if (count < capacity) target[offset + count] = parser.value();
+            count++;
+            if (!parser.isDelimiter(position)) return count;
+            position++;
+        }
+    }
+
+    private void fill() throws IOException {
+        if (position > 0) {
+            System.arraycopy(buffer, position, buffer, 0, limit - position);
+            limit -= position;
+            scanned -= position;
+            position = 0;
+        }
+        if (limit == buffer.length) buffer = Arrays.copyOf(buffer, 2 * buffer.length);
+
+        int read = in.read(buffer, limit, buffer.length - limit);
+        if (read < 0) {
+            eof = true;
+        } else {
+            limit += read;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,136 @@
+package anfis.ml.sampling;
+
+import anfis.ml.exceptions.InvalidDatasetException;
+
+import java.nio.charset.StandardCharsets;
+
+final class FieldParser {
+
+    private static final int MAX_MANTISSA_DIGITS = 18;
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10,
+            1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final byte delimiter;
+
+    private byte[] bytes;
+    private int length;
+    private double value;
+
+    FieldParser(byte delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    void reset(byte[] bytes, int length) {
+        this.bytes = bytes;
+        this.length = length;
+    }
+
+    double value() {
+        return value;
+    }
+
+    boolean isDelimiter(int position) {
+        return position < length && bytes[position] == delimiter;
+    }
+
+    int parse(int from) {
+        int i = skipWhitespace(from);
+        boolean negative = false;
+        if (i < length && (bytes[i] == '-' || bytes[i] == '+')) {
+            negative = bytes[i] == '-';
+            i++;
+        }
+
+        long mantissa = 0;
+        int digits = 0;
+        int exponent = 0;
+        boolean seenDigit = false;
+        boolean exact = true;
+
+        for (; i < length && isDigit(bytes[i]); i++) {
+            seenDigit = true;
+            if (digits < MAX_MANTISSA_DIGITS) {
+                mantissa = 10 * mantissa + (bytes[i] - '0');
+                if (mantissa != 0) digits++;
+            } else {
+                exact = false;
+            }
+        }
+        if (i < length && bytes[i] == '.') {
+            for (i++; i < length && isDigit(bytes[i]); i++) {
+                seenDigit = true;
+                if (digits < MAX_MANTISSA_DIGITS) {
+                    mantissa = 10 * mantissa + (bytes[i] - '0');
+                    if (mantissa != 0) digits++;
+                    exponent--;
+                } else {
+                    exact = false;
+                }
+            }
+        }
+        if (seenDigit && i < length && (bytes[i] == 'e' || bytes[i] == 'E')) {
+            i++;
+            boolean negativeExponent = false;
+            if (i < length && (bytes[i] == '-' || bytes[i] == '+')) {
+                negativeExponent = bytes[i] == '-';
+                i++;
+            }
+            int power = 0;
+            boolean seenExponentDigit = false;
+            for (; i < length && isDigit(bytes[i]); i++) {
+                seenExponentDigit = true;
+                power = Math.min(10 * power + (bytes[i] - '0'), 100_000);
+            }
+            exact &= seenExponentDigit;
+            exponent += negativeExponent ? -power : power;
+        }
+
+        i = skipWhitespace(i);
+        boolean terminated = i == length || bytes[i] == delimiter || bytes[i] == '\n';
+        if (seenDigit && exact && terminated) {
+            if (mantissa == 0) {
+                value = negative ? -0. : 0.;
+                return i;
+            }
+            if (mantissa < MAX_EXACT_MANTISSA && exponent >= -22 && exponent <= 22) {
+                double magnitude = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+                value = negative ? -magnitude : magnitude;
+                return i;
+            }
+        }
+
+        int fieldEnd = fieldEnd(from);
+        value = parseSlow(from, fieldEnd);
+        return fieldEnd;
+    }
+
+    int fieldEnd(int position) {
+        while (position < length && bytes[position] != delimiter && bytes[position] != '\n') position++;
+        return position;
+    }
+
+    int skipWhitespace(int position) {
+        while (position < length && isWhitespace(bytes[position])) position++;
+        return position;
+    }
+
+    private double parseSlow(int from, int to) {
+        String field = new String(bytes, from, to - from, StandardCharsets.ISO_8859_1);
+        try {
+            return Double.parseDouble(field);
+        } catch (NumberFormatException e) {
+            throw new InvalidDatasetException("cannot parse '" + field.strip() + "' as a number");
+        }
+    }
+
+    static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private static boolean isDigit(byte b) {
+        return b >= '0' && b <= '9';
+    }
+}
@@ -0,0 +1,134 @@
+package anfis.ml.sampling;
+
+import anfis.ml.exceptions.InvalidDatasetException;
+import anfis.ml.sampling.BinaryDatasetFormat.Header;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+public final class MappedDataset {
+
+    private static final long MAX_SEGMENT_BYTES = Integer.MAX_VALUE;
+
+    private final Header header;
+    private final int stride;
+    private final long rowsPerSegment;
+    private final DoubleBuffer[] doubles;
+    private final FloatBuffer[] floats;
+
+    private MappedDataset(Header header, long rowsPerSegment, DoubleBuffer[] doubles, FloatBuffer[] floats) {
+        this.header = header;
+        this.stride = header.stride();
+        this.rowsPerSegment = rowsPerSegment;
+        this.doubles = doubles;
+        this.floats = floats;
+    }
+
+    static MappedDataset map(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            Header header = BinaryDatasetFormat.readHeader(channel);
+            boolean singlePrecision = header.elementSize() == BinaryDatasetFormat.SINGLE_PRECISION;
+
+            long rowBytes = header.rowBytes();
+            if (rowBytes > MAX_SEGMENT_BYTES) throw new InvalidDatasetException("row of " + rowBytes + " bytes exceeds a mapped segment");
+            long rowsPerSegment = MAX_SEGMENT_BYTES / rowBytes;
+            int segmentCount = Math.toIntExact((header.size() + rowsPerSegment - 1) / rowsPerSegment);
+
+            DoubleBuffer[] doubles = singlePrecision ? null : new DoubleBuffer[segmentCount];
+            FloatBuffer[] floats = singlePrecision ? new FloatBuffer[segmentCount] : null;
+            for (int s = 0; s < segmentCount; s++) {
+                long first = s * rowsPerSegment;
+                long rows = Math.min(rowsPerSegment, header.size() - first);
+                MappedByteBuffer segment = channel.map(FileChannel.MapMode.READ_ONLY, BinaryDatasetFormat.HEADER_SIZE + first * rowBytes, rows * rowBytes);
+                segment.order(BinaryDatasetFormat.ORDER);
+                if (singlePrecision) {
+                    floats[s] = segment.asFloatBuffer();
+                } else {
+                    doubles[s] = segment.asDoubleBuffer();
+                }
+            }
+            return new MappedDataset(header, rowsPerSegment, doubles, floats);
+        }
+    }
+
+    public long size() {
+        return header.size();
+    }
+
+    public int inputDimension() {
+        return header.inputDimension();
+    }
+
+    public int outputDimension() {
+        return header.outputDimension();
+    }
+
+    public boolean isSinglePrecision() {
+        return floats != null;
+    }
+
+    public double x(long row, int column) {
+        return get(row, column);
+    }
+
+    public double y(long row, int column) {
+        return get(row, header.inputDimension() + column);
+    }
+
+    private double get(long row, int column) {
+        int segment = (int) (row / rowsPerSegment);
+        int index = (int) (row % rowsPerSegment) * stride + column;
+        return (floats != null) ? floats[segment].get(index) : doubles[segment].get(index);
+    }
+
+    public DoubleBuffer row(long row) {
+        if (floats != null) throw new IllegalStateException("Row views require a double precision dataset");
+        int segment = (int) (row / rowsPerSegment);
+        int index = (int) (row % rowsPerSegment) * stride;
+        return doubles[segment].slice(index, stride).asReadOnlyBuffer();
+    }
+
+    public void copyTo(long from, Dataset target) {
+        if (target.inputDimension() != inputDimension() || target.outputDimension() != outputDimension())
+            throw new IllegalArgumentException("Target dataset differs in dimension");
+        if (!target.isContiguous()) throw new IllegalArgumentException("Target dataset must be contiguous");
+        if (from < 0 || from + target.size() > size())
+            throw new IndexOutOfBoundsException("Rows [" + from + ", " + (from + target.size()) + ") out of bounds for size " + size());
+
+        double[] data = target.data();
+        int copied = 0;
+        int count = target.size();
+        while (copied < count) {
+            long row = from + copied;
+            int segment = (int) (row / rowsPerSegment);
+            int first = (int) (row % rowsPerSegment);
+            int rows = (int) Math.min(count - copied, rowsPerSegment - first);
+            int offset = target.offset(copied);
+            int length = rows * stride;
+            if (floats != null) {
+                FloatBuffer source = floats[segment];
+                for (int k = 0, index = first * stride; k < length; k++) {
+                    data[offset + k] = source.get(index + k);
+                }
+            } else {
+                doubles[segment].get(first * stride, data, offset, length);
+            }
+            copied += rows;
+        }
+    }
+
+    public Dataset block(long from, int count) {
+        Dataset block = Dataset.allocate(count, inputDimension(), outputDimension());
+        copyTo(from, block);
+        return block;
+    }
+
+    public Dataset load() {
+        return block(0, Math.toIntExact(size()));
+    }
+}
@@ -1,5 +1,7 @@
 package anfis.ml.sampling;
 
+import anfis.ml.exceptions.InvalidSampleException;
+
 import java.util.Arrays;
 import java.util.stream.Collectors;
 
@@ -29,9 +31,13 @@ public record Sample(double[] x, double[] y) {
     }
 
     public static Sample parse(String raw) {
-        String[] sampleString = raw.split(FEATURE_LABEL_DELIMITER);
-        double[] x = Arrays.stream(sampleString[0].split(FEATURE_DELIMITER)).mapToDouble(Double::parseDouble).toArray();
-        double[] y = Arrays.stream(sampleString[1].split(LABEL_DELIMITER)).mapToDouble(Double::parseDouble).toArray();
-        return new Sample(x, y);
+        return parse(raw, 1);
+    }
+
+    public static Sample parse(String raw, int outputDimension) {
+        double[] values = Arrays.stream(raw.split(FEATURE_DELIMITER)).mapToDouble(Double::parseDouble).toArray();
+        int inputDimension = values.length - outputDimension;
+        if (inputDimension < 1 || outputDimension < 1) throw new InvalidSampleException("expected at least " + (outputDimension + 1) + " values");
+        return new Sample(Arrays.copyOfRange(values, 0, inputDimension), Arrays.copyOfRange(values, inputDimension, values.length));
     }
 }
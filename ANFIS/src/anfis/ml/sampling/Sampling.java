@@ -5,6 +5,7 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.*;
 import java.util.function.Function;
+import java.util.random.RandomGenerator;
 import java.util.stream.Collectors;
 
 public final class Sampling {
@@ -25,10 +26,27 @@ public final class Sampling {
         }
     }
 
+    public static void writeBinary(Dataset samples, String path) throws IOException {
+        writeBinary(samples, path, false);
+    }
+
+    public static void writeBinary(Dataset samples, String path, boolean singlePrecision) throws IOException {
+        int elementSize = singlePrecision ? BinaryDatasetFormat.SINGLE_PRECISION : BinaryDatasetFormat.DOUBLE_PRECISION;
+        BinaryDatasetFormat.write(samples, Path.of(path), elementSize);
+    }
+
+    public static MappedDataset map(String path) throws IOException {
+        return MappedDataset.map(Path.of(path));
+    }
+
     public static List<Sample> load(String path) throws IOException {
         return load(path, Sample::parse);
     }
 
+    public static Dataset loadDataset(String path) throws IOException {
+        return new DelimitedDatasetReader().read(path);
+    }
+
     public static <T> List<T> load(String path, Function<String, T> parser) throws IOException {
         return Files.lines(Path.of(path)).map(parser).collect(Collectors.toUnmodifiableList());
     }
@@ -47,6 +65,39 @@ public final class Sampling {
         };
     }
 
+    public static List<Dataset> singletons(Dataset samples) {
+        return new AbstractList<>() {
+            @Override
+            public Dataset get(int index) {
+                return samples.rows(index, index + 1);
+            }
+
+            @Override
+            public int size() {
+                return samples.size();
+            }
+        };
+    }
+
+    public static Dataset sample(Dataset samples, int size, RandomGenerator random) {
+        if (size < 1) throw new IllegalArgumentException("Sample size must be positive, got: " + size);
+        int n = samples.size();
+        if (size >= n) return samples.copy();
+
+        int[] rows = new int[n];
+        for (int i = 0; i < n; i++) {
+            rows[i] = i;
+        }
+        Dataset sample = Dataset.allocate(size, samples.inputDimension(), samples.outputDimension());
+        for (int i = 0; i < size; i++) {
+            int j = i + random.nextInt(n - i);
+            int row = rows[j];
+            rows[j] = rows[i];
+            samples.copyRow(row, sample, i);
+        }
+        return sample;
+    }
+
     public static <T> List<List<T>> partition(List<T> samples, int partitionSize) {
         return new AbstractList<>() {
 
@@ -66,4 +117,24 @@ public final class Sampling {
             }
         };
     }
+
+    public static List<Dataset> partition(Dataset samples, int partitionSize) {
+        return new AbstractList<>() {
+
+            private final int sampleSize = samples.size();
+            private final int numberOfPartitions = Math.toIntExact(Math.round(Math.ceil((double) sampleSize / partitionSize)));
+
+            @Override
+            public Dataset get(int index) {
+                final int start = index * partitionSize;
+                final int end = Math.min(start + partitionSize, sampleSize);
+                return samples.rows(start, end);
+            }
+
+            @Override
+            public int size() {
+                return numberOfPartitions;
+            }
+        };
+    }
 }
@@ -6,15 +6,33 @@ public interface StoppingCondition {
 
     boolean isMet(IterationStatistics statistics);
 
+    default void reset() {
+    }
+
     default StoppingCondition and(StoppingCondition other) {
-        return statistics -> isMet(statistics) && other.isMet(statistics);
+        return combine(this, other, statistics -> isMet(statistics) && other.isMet(statistics));
     }
 
     default StoppingCondition or(StoppingCondition other) {
-        return statistics -> isMet(statistics) || other.isMet(statistics);
+        return combine(this, other, statistics -> isMet(statistics) || other.isMet(statistics));
     }
 
     default StoppingCondition not() {
-        return statistics -> !isMet(statistics);
+        return combine(this, this, statistics -> !isMet(statistics));
+    }
+
+    private static StoppingCondition combine(StoppingCondition first, StoppingCondition second, StoppingCondition condition) {
+        return new StoppingCondition() {
+            @Override
+            public boolean isMet(IterationStatistics statistics) {
+                return condition.isMet(statistics);
+            }
+
+            @Override
+            public void reset() {
+                first.reset();
+                if (second != first) second.reset();
+            }
+        };
     }
 }
@@ -1,9 +1,16 @@
 package anfis.ml.stopping;
 
+import anfis.ml.observers.IterationStatistics;
+
+import java.time.Duration;
+
 public final class StoppingConditions {
 
+    private StoppingConditions() {
+    }
+
     public static StoppingCondition precision(double epsilon) {
-        return statistics -> statistics.getError() < epsilon;
+        return statistics -> statistics.getError() + statistics.getErrorBound() < epsilon;
     }
 
     public static StoppingCondition maxIter(int maxIter) {
@@ -13,4 +20,127 @@ public final class StoppingConditions {
     public static StoppingCondition infiniteLoop() {
         return statistics -> false;
     }
+
+    public static StoppingCondition patience(int patience, double minimumImprovement) {
+        checkWindow("Patience", patience);
+        if (minimumImprovement < 0.) throw new IllegalArgumentException("Minimum improvement must not be negative, got: " + minimumImprovement);
+        return new StoppingCondition() {
+
+            private double best = Double.POSITIVE_INFINITY;
+            private int stale;
+
+            @Override
+            public boolean isMet(IterationStatistics statistics) {
+                double error = statistics.getError();
+                if (error < best - minimumImprovement) {
+                    best = error;
+                    stale = 0;
+                    return false;
+                }
+                if (error < best) best = error;
+                return ++stale >= patience;
+            }
+
+            @Override
+            public void reset() {
+                best = Double.POSITIVE_INFINITY;
+                stale = 0;
+            }
+        };
+    }
+
+    public static StoppingCondition plateau(int window, double tolerance) {
+        checkWindow("Window", window);
+        checkTolerance(tolerance);
+        return new WindowCondition(window) {
+            @Override
+            boolean isMet(double[] errors) {
+                double min = Double.POSITIVE_INFINITY;
+                double max = Double.NEGATIVE_INFINITY;
+                for (double error : errors) {
+                    min = Math.min(min, error);
+                    max = Math.max(max, error);
+                }
+                return max - min <= tolerance;
+            }
+        };
+    }
+
+    public static StoppingCondition relativeImprovement(int window, double threshold) {
+        checkWindow("Window", window);
+        checkTolerance(threshold);
+        return new WindowCondition(window + 1) {
+            @Override
+            boolean isMet(double[] errors) {
+                double oldest = errors[oldest()];
+                double newest = errors[newest()];
+                return oldest - newest <= threshold * Math.abs(oldest);
+            }
+        };
+    }
+
+    public static StoppingCondition wallClock(Duration budget) {
+        long nanos = budget.toNanos();
+        if (nanos <= 0) throw new IllegalArgumentException("Budget must be positive, got: " + budget);
+        return new StoppingCondition() {
+
+            private long start;
+            private boolean started;
+
+            @Override
+            public boolean isMet(IterationStatistics statistics) {
+                long now = System.nanoTime();
+                if (!started) {
+                    start = now;
+                    started = true;
+                }
+                return now - start >= nanos;
+            }
+
+            @Override
+            public void reset() {
+                started = false;
+            }
+        };
+    }
+
+    private abstract static class WindowCondition implements StoppingCondition {
+
+        private final double[] errors;
+        private int count;
+
+        WindowCondition(int window) {
+            errors = new double[window];
+        }
+
+        int oldest() {
+            return count % errors.length;
+        }
+
+        int newest() {
+            return (count - 1) % errors.length;
+        }
+
+        abstract boolean isMet(double[] errors);
+
+        @Override
+        public final boolean isMet(IterationStatistics statistics) {
+            errors[count % errors.length] = statistics.getError();
+            count++;
+            return count >= errors.length && isMet(errors);
+        }
+
+        @Override
+        public final void reset() {
+            count = 0;
+        }
+    }
+
+    private static void checkWindow(String name, int window) {
+        if (window < 1) throw new IllegalArgumentException(name + " must be positive, got: " + window);
+    }
+
+    private static void checkTolerance(double tolerance) {
+        if (tolerance < 0.) throw new IllegalArgumentException("Tolerance must not be negative, got: " + tolerance);
+    }
 }
@@ -1,12 +1,31 @@
 package anfis.neural;
 
 import anfis.ml.IncrementalMachineLearningModel;
+import anfis.ml.Predictor;
 import anfis.ml.exceptions.*;
+import anfis.ml.evaluation.EvaluationContext;
+import anfis.ml.evaluation.EvaluationPolicies;
+import anfis.ml.evaluation.EvaluationPolicy;
+import anfis.ml.loss.DecomposableLossFunction;
+import anfis.ml.loss.LossAccumulator;
 import anfis.ml.loss.LossFunction;
 import anfis.ml.loss.LossFunctions;
+import anfis.ml.metrics.EpochEvent;
+import anfis.ml.metrics.InferenceEvent;
+import anfis.ml.metrics.MetricsRegistry;
+import anfis.ml.metrics.Phase;
 import anfis.ml.observers.AbstractModelSubject;
 import anfis.ml.observers.IterationStatistics;
+import anfis.ml.optimizers.LearningRateSchedule;
+import anfis.ml.optimizers.LearningRateSchedules;
+import anfis.ml.optimizers.Optimizer;
+import anfis.ml.optimizers.Optimizers;
+import anfis.ml.sampling.Dataset;
+import anfis.ml.sampling.DatasetSource;
+import anfis.ml.sampling.DatasetSource.BlockIterator;
+import anfis.ml.sampling.DatasetSources;
 import anfis.ml.sampling.Sample;
+import anfis.ml.sampling.Sampling;
 import anfis.ml.stopping.StoppingCondition;
 import anfis.ml.stopping.StoppingConditions;
 import anfis.rand.SourceOfRandomness;
@@ -14,9 +33,13 @@ import anfis.rand.SourceOfRandomness;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Random;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGenerator.SplittableGenerator;
 import java.util.stream.Collectors;
 
 public abstract class ANFIS extends AbstractModelSubject implements IncrementalMachineLearningModel {
@@ -26,15 +49,53 @@ public abstract class ANFIS extends AbstractModelSubject implements IncrementalM
 
     private final int numberOfRules;
     private final LossFunction lossFunction;
-    private final StoppingCondition stoppingCondition;
+    private StoppingCondition stoppingCondition;
 
     private int dimension;
-    private final double[][] coef;
-    private final double[][] linCoef;
+    private int outputs;
+    private Parameters parameters;
 
     private double eta1;
     private double eta2;
 
+    private Optimizer optimizer = Optimizers.sgd();
+    private Optimizer.State optimizerState;
+    private Optimizer.State[] workerStates;
+    private LearningRateSchedule learningRateSchedule = LearningRateSchedules.constant();
+    private int epoch;
+    private double learningRate1;
+    private double learningRate2;
+
+    private Workspace workspace;
+    private Workspace[] workspaces;
+
+    private int parallelism = 1;
+    private ExecutorService executor = ForkJoinPool.commonPool();
+
+    private boolean fusedLossEvaluation;
+    private EvaluationPolicy evaluationPolicy = EvaluationPolicies.exact();
+
+    private EarlyStopping earlyStopping;
+
+    private MetricsRegistry metrics;
+
+    private Engine engine = Engines.scalar();
+    private final Tile.Cache tiles = new Tile.Cache();
+
+    private final Predictor evaluator = new Predictor() {
+        @Override
+        public double[] predict(double[] x) {
+            return evaluate(x, 0, x.length);
+        }
+
+        @Override
+        public double[] predict(double[] data, int offset, int length) {
+            return evaluate(data, offset, length);
+        }
+    };
+
+    private SplittableGenerator random = SourceOfRandomness.split();
+
     private boolean isFitted;
 
     public ANFIS(int numberOfRules, double eta1, double eta2) {
@@ -48,19 +109,50 @@ public abstract class ANFIS extends AbstractModelSubject implements IncrementalM
 
         this.eta1 = eta1;
         this.eta2 = eta2;
+    }
 
-        coef = new double[numberOfRules][];
-        linCoef = new double[numberOfRules][];
+    public FrozenANFIS freeze() {
+        if (!isFitted) throw new ModelNotFittedException(getClass());
+        return new FrozenANFIS(parameters.copy(), engine, metrics);
     }
 
     public double[][] getCoef() {
         if (!isFitted) throw new ModelNotFittedException(getClass());
-        return coef;
+        return parameters.premiseCoefficients();
     }
 
     public double[][] getLinCoef() {
         if (!isFitted) throw new ModelNotFittedException(getClass());
-        return linCoef;
+        return parameters.linearCoefficients();
+    }
+
+    public int getOutputDimension() {
+        if (!isFitted) throw new ModelNotFittedException(getClass());
+        return outputs;
+    }
+
+    public LossFunction getLossFunction() {
+        return lossFunction;
+    }
+
+    public StoppingCondition getStoppingCondition() {
+        return stoppingCondition;
+    }
+
+    public void setStoppingCondition(StoppingCondition stoppingCondition) {
+        this.stoppingCondition = Objects.requireNonNull(stoppingCondition);
+    }
+
+    public SplittableGenerator getRandom() {
+        return random;
+    }
+
+    public void setRandom(SplittableGenerator random) {
+        this.random = Objects.requireNonNull(random);
+    }
+
+    public void setSeed(long seed) {
+        random = SourceOfRandomness.create(seed);
     }
 
     public double getEta1() {
@@ -79,171 +171,769 @@ public abstract class ANFIS extends AbstractModelSubject implements IncrementalM
         this.eta2 = eta2;
     }
 
+    public Optimizer getOptimizer() {
+        return optimizer;
+    }
+
+    public void setOptimizer(Optimizer optimizer) {
+        this.optimizer = Objects.requireNonNull(optimizer);
+        if (parameters != null) optimizerState = optimizer.initialize(parameters.values.length);
+        workerStates = null;
+    }
+
+    public LearningRateSchedule getLearningRateSchedule() {
+        return learningRateSchedule;
+    }
+
+    public void setLearningRateSchedule(LearningRateSchedule learningRateSchedule) {
+        this.learningRateSchedule = Objects.requireNonNull(learningRateSchedule);
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) throw new IllegalArgumentException("Parallelism must be positive, got: " + parallelism);
+        this.parallelism = parallelism;
+    }
+
+    public void setExecutor(ExecutorService executor) {
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    public boolean isFusedLossEvaluation() {
+        return fusedLossEvaluation;
+    }
+
+    public void setFusedLossEvaluation(boolean fusedLossEvaluation) {
+        if (fusedLossEvaluation && !(lossFunction instanceof DecomposableLossFunction))
+            throw new IllegalArgumentException("Fused loss evaluation requires a decomposable loss function");
+        this.fusedLossEvaluation = fusedLossEvaluation;
+    }
+
+    public void setEarlyStopping(Dataset validation, int interval, int patience) {
+        if (validation.isEmpty()) throw new InvalidDatasetException();
+        if (interval < 1) throw new IllegalArgumentException("Validation interval must be positive, got: " + interval);
+        if (patience < 1) throw new IllegalArgumentException("Patience must be positive, got: " + patience);
+        earlyStopping = new EarlyStopping(validation, interval, patience);
+    }
+
+    public void disableEarlyStopping() {
+        earlyStopping = null;
+    }
+
+    public double getBestValidationError() {
+        return earlyStopping != null ? earlyStopping.bestError() : Double.NaN;
+    }
+
+    public int getBestValidationIteration() {
+        return earlyStopping != null ? earlyStopping.bestIteration() : -1;
+    }
+
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(MetricsRegistry metrics) {
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    public void disableMetrics() {
+        metrics = null;
+    }
+
+    public EvaluationPolicy getEvaluationPolicy() {
+        return evaluationPolicy;
+    }
+
+    public void setEvaluationPolicy(EvaluationPolicy evaluationPolicy) {
+        if (evaluationPolicy.requiresTrainingLoss() && !(lossFunction instanceof DecomposableLossFunction))
+            throw new IllegalArgumentException("Evaluation policy requires a decomposable loss function");
+        this.evaluationPolicy = evaluationPolicy;
+    }
+
+    private boolean tracksTrainingLoss() {
+        return fusedLossEvaluation || evaluationPolicy.requiresTrainingLoss();
+    }
+
+    public boolean isVectorized() {
+        return engine.isVectorized();
+    }
+
+    public void setVectorized(boolean vectorized) {
+        engine = vectorized ? Engines.vector() : Engines.scalar();
+        if (parameters != null) {
+            workspace = newWorkspace();
+            workspaces = null;
+        }
+    }
+
     @Override
     public final IncrementalMachineLearningModel fit(List<Sample> samples) {
+        return fit(Dataset.of(samples));
+    }
+
+    @Override
+    public final IncrementalMachineLearningModel fit(Dataset samples) {
         checkEqualDimensions(samples);
 
-        dimension = samples.get(0).x().length;
-        initialize(coef, linCoef, dimension);
+        isFitted = false;
+        dimension = samples.inputDimension();
+        outputs = samples.outputDimension();
+        parameters = new Parameters(numberOfRules, dimension, outputs);
+        initialize(parameters);
+        optimizerState = optimizer.initialize(parameters.values.length);
+        workerStates = null;
+        epoch = 0;
+        workspace = newWorkspace();
+        workspaces = null;
 
         train(samples);
         isFitted = true;
         return this;
     }
 
-    private void checkEqualDimensions(List<Sample> samples) {
-        int inputDimension = samples.get(0).x().length;
-        if (!samples.stream().allMatch(sample -> sample.x().length == inputDimension && sample.y().length == 1))
+    public final IncrementalMachineLearningModel fit(DatasetSource source) {
+        if (source.inputDimension() <= 0 || source.outputDimension() <= 0)
+            throw new InvalidDatasetException();
+
+        isFitted = false;
+        dimension = source.inputDimension();
+        outputs = source.outputDimension();
+        parameters = new Parameters(numberOfRules, dimension, outputs);
+        initialize(parameters);
+        optimizerState = optimizer.initialize(parameters.values.length);
+        workerStates = null;
+        epoch = 0;
+        workspace = newWorkspace();
+        workspaces = null;
+
+        train(source);
+        isFitted = true;
+        return this;
+    }
+
+    private void checkEqualDimensions(Dataset samples) {
+        if (samples.isEmpty() || samples.outputDimension() <= 0)
             throw new InvalidDatasetException();
     }
 
-    private ANFIS train(List<Sample> samples) {
+    private ANFIS train(Dataset samples) {
+        startTraining();
+        EvaluationPolicy.Evaluator evaluation = evaluationPolicy.begin(new TrainingContext() {
+            @Override
+            public double score() {
+                return lossFunction.score(evaluator, samples);
+            }
+
+            @Override
+            public Dataset sample(int size, RandomGenerator random) {
+                return Sampling.sample(samples, size, random);
+            }
+        });
         int iter = 0;
         while (true) {
-            IterationStatistics statistics = IterationStatistics.of(() -> lossFunction.score(this::forwardPass, samples), iter);
+            IterationStatistics statistics = (fusedLossEvaluation && iter > 0)
+                    ? IterationStatistics.of(workspace.loss.score(), iter)
+                    : evaluation.statistics(iter);
+            if (metrics != null) statistics = instrument(statistics);
 
-            if (stoppingCondition.isMet(statistics)) break;
+            if (isMet(statistics)) break;
 
             notifyObservers(statistics);
 
-            preprocess(samples);
+            EpochEvent event = (metrics != null) ? metrics.beginEpoch() : null;
+            beginEpoch();
+            timed(Phase.PREPROCESS, () -> preprocess(samples));
             completeEpoch(samples);
+            if (event != null) metrics.endEpoch(event, iter);
 
             iter++;
+            if (!updatesParameters()) break;
         }
 
+        if (earlyStopping != null) earlyStopping.finish(iter, evaluator, lossFunction, parameters.values);
         return this;
     }
 
-    protected void preprocess(List<Sample> samples) {
+    private ANFIS train(DatasetSource source) {
+        startTraining();
+        EvaluationPolicy.Evaluator evaluation = evaluationPolicy.begin(new TrainingContext() {
+            @Override
+            public double score() {
+                return ANFIS.this.score(source);
+            }
+
+            @Override
+            public Dataset sample(int size, RandomGenerator random) {
+                return DatasetSources.sample(source, size, random);
+            }
+        });
+        int iter = 0;
+        while (true) {
+            IterationStatistics statistics = (fusedLossEvaluation && iter > 0)
+                    ? IterationStatistics.of(workspace.loss.score(), iter)
+                    : evaluation.statistics(iter);
+            if (metrics != null) statistics = instrument(statistics);
+
+            if (isMet(statistics)) break;
+
+            notifyObservers(statistics);
+
+            EpochEvent event = (metrics != null) ? metrics.beginEpoch() : null;
+            beginEpoch();
+            completeEpoch(source);
+            if (event != null) metrics.endEpoch(event, iter);
+
+            iter++;
+            if (!updatesParameters()) break;
+        }
+
+        if (earlyStopping != null) earlyStopping.finish(iter, evaluator, lossFunction, parameters.values);
+        return this;
     }
 
-    private void completeEpoch(List<Sample> samples) {
-        for (List<Sample> batch : partition(samples)) {
-            processBatch(batch);
+    private void startTraining() {
+        stoppingCondition.reset();
+        if (tracksTrainingLoss()) workspace.loss.reset();
+        if (earlyStopping != null) {
+            if (earlyStopping.validation.inputDimension() != dimension) throw new InputDimensionMismatch(dimension, earlyStopping.validation.inputDimension());
+            if (earlyStopping.validation.outputDimension() != outputs) throw new InvalidDatasetException();
+            earlyStopping.begin(parameters.values);
         }
+        beginTraining();
     }
 
-    protected abstract List<List<Sample>> partition(List<Sample> samples);
+    private boolean isMet(IterationStatistics statistics) {
+        if (earlyStopping != null && earlyStopping.isMet(statistics.getIteration(), evaluator, lossFunction, parameters.values)) return true;
+        return stoppingCondition.isMet(statistics);
+    }
 
-    protected final void processBatch(List<Sample> batch) {
-        double[][] dCoef = new double[numberOfRules][];
-        double[][] dLinCoef = new double[numberOfRules][];
-        construct(dCoef, dLinCoef, dimension);
+    private void beginEpoch() {
+        double factor = learningRateSchedule.factor(epoch++);
+        learningRate1 = eta1 * factor;
+        learningRate2 = eta2 * factor;
+    }
 
-        for (Sample sample : batch) {
-            double[] input = sample.x();
+    private void completeEpoch(DatasetSource source) {
+        if (tracksTrainingLoss()) workspace.loss.reset();
+        timed(Phase.PREPROCESS, () -> preprocess(source));
+        if (!updatesParameters()) return;
+        if (processesBlocksSeparately()) {
+            try (BlockIterator blocks = source.blocks()) {
+                while (blocks.hasNext()) {
+                    Dataset block = blocks.next();
+                    timed(Phase.PREPROCESS, () -> preprocess(block));
+                    processBlock(block);
+                }
+            }
+        } else {
+            processAsSingleBatch(source);
+        }
+        timed(Phase.POSTPROCESS, () -> postprocess(source));
+    }
 
-            double target = sample.y()[0];
-            double output = forwardPass(input)[0];
-            double error = target - output;
+    private void processAsSingleBatch(DatasetSource source) {
+        double[] gradient = new double[parameters.values.length];
+        try (BlockIterator blocks = source.blocks()) {
+            while (blocks.hasNext()) {
+                accumulateGradient(blocks.next());
+                double[] blockGradient = workspace.gradient;
+                for (int i = 0; i < gradient.length; i++) {
+                    gradient[i] += blockGradient[i];
+                }
+            }
+        }
+        update(parameters.values, gradient, optimizerState);
+    }
 
-            double weightSumSquared = cachedWeightSum * cachedWeightSum;
-            double unscaledOutput = output * cachedWeightSum;
+    private double score(DatasetSource source) {
+        if (lossFunction instanceof DecomposableLossFunction decomposable) {
+            LossAccumulator accumulator = decomposable.accumulator();
+            try (BlockIterator blocks = source.blocks()) {
+                while (blocks.hasNext()) {
+                    Dataset block = blocks.next();
+                    accumulator.add(evaluator, block, 0, block.size());
+                }
+            }
+            return accumulator.score();
+        }
 
-            for (int i = 0; i < numberOfRules; i++) {
-                double weight = cachedWeights[i];
-                double consequent = cachedConsequents[i];
-
-                double fraction = ((cachedWeightSum - weight) * consequent - (unscaledOutput - weight * consequent)) / weightSumSquared;
-                double dLinCoefShared = error * (weight / cachedWeightSum);
-                for (int j = 0; j < dimension; j++) {
-                    double membership = cachedMemberships[i][j];
-                    double dCoefShared = error * fraction * (weight / membership) * membership * (1 - membership);
-                    dCoef[i][2 * j] -= dCoefShared * (input[j] - coef[i][2 * j + 1]);
-                    dCoef[i][2 * j + 1] += dCoefShared * coef[i][2 * j];
-                    dLinCoef[i][j] += dLinCoefShared * input[j];
+        double sum = 0.;
+        long count = 0;
+        try (BlockIterator blocks = source.blocks()) {
+            while (blocks.hasNext()) {
+                Dataset block = blocks.next();
+                sum += lossFunction.score(evaluator, block) * block.size();
+                count += block.size();
+            }
+        }
+        return sum / count;
+    }
+
+    protected void preprocess(Dataset samples) {
+    }
+
+    private void completeEpoch(Dataset samples) {
+        if (tracksTrainingLoss()) workspace.loss.reset();
+        if (!updatesParameters()) return;
+        processBlock(samples);
+        timed(Phase.POSTPROCESS, () -> postprocess(samples));
+    }
+
+    private void timed(Phase phase, Runnable task) {
+        if (metrics == null) {
+            task.run();
+            return;
+        }
+        long start = System.nanoTime();
+        task.run();
+        metrics.record(phase, System.nanoTime() - start);
+    }
+
+    private IterationStatistics instrument(IterationStatistics statistics) {
+        MetricsRegistry registry = metrics;
+        return new IterationStatistics() {
+            @Override
+            public double getError() {
+                long start = System.nanoTime();
+                double error = statistics.getError();
+                registry.record(Phase.EVALUATION, System.nanoTime() - start);
+                return error;
+            }
+
+            @Override
+            public int getIteration() {
+                return statistics.getIteration();
+            }
+
+            @Override
+            public double getErrorBound() {
+                return statistics.getErrorBound();
+            }
+
+            @Override
+            public int getErrorIteration() {
+                return statistics.getErrorIteration();
+            }
+
+            @Override
+            public boolean isExact() {
+                return statistics.isExact();
+            }
+
+            @Override
+            public boolean isEvaluated() {
+                return statistics.isEvaluated();
+            }
+
+            @Override
+            public double getExactError() {
+                long start = System.nanoTime();
+                double error = statistics.getExactError();
+                registry.record(Phase.EVALUATION, System.nanoTime() - start);
+                return error;
+            }
+
+            @Override
+            public MetricsRegistry getMetrics() {
+                return registry;
+            }
+        };
+    }
+
+    private void processBlock(Dataset samples) {
+        int workers = Math.min(asynchronousWorkers(), samples.size());
+        if (workers > 1) {
+            processAsynchronously(samples, workers, synchronizationInterval());
+            return;
+        }
+        for (Dataset batch : partition(samples)) {
+            processBatch(batch);
+        }
+    }
+
+    private void processAsynchronously(Dataset samples, int workers, int interval) {
+        Workspace[] workspaces = workspaces(workers);
+        Optimizer.State[] states = workerStates(workers);
+        List<Callable<Void>> tasks = new ArrayList<>(workers);
+        int size = samples.size();
+        for (int k = 0; k < workers; k++) {
+            Dataset shard = samples.rows((int) ((long) k * size / workers), (int) ((long) (k + 1) * size / workers));
+            Workspace ws = workspaces[k];
+            Optimizer.State state = states[k];
+            tasks.add(() -> {
+                if (interval == 0) {
+                    processShared(shard, ws, state);
+                } else {
+                    processLocal(shard, ws, state, interval);
                 }
-                dLinCoef[i][dimension] += dLinCoefShared;
+                return null;
+            });
+        }
+        invokeAll(tasks);
+        mergeLosses(workspaces, workers);
+    }
+
+    private void processShared(Dataset shard, Workspace ws, Optimizer.State state) {
+        for (Dataset batch : partition(shard)) {
+            accumulateGradient(parameters, batch, ws);
+            update(parameters.values, ws.gradient, state);
+        }
+    }
+
+    private void processLocal(Dataset shard, Workspace ws, Optimizer.State state, int interval) {
+        double[] shared = parameters.values;
+        Parameters local = parameters.copy();
+        double[] base = local.values.clone();
+        int steps = 0;
+        for (Dataset batch : partition(shard)) {
+            accumulateGradient(local, batch, ws);
+            update(local.values, ws.gradient, state);
+            if (++steps % interval == 0) synchronize(shared, local.values, base);
+        }
+        if (steps % interval != 0) synchronize(shared, local.values, base);
+    }
+
+    private static void synchronize(double[] shared, double[] local, double[] base) {
+        synchronized (shared) {
+            for (int k = 0, n = shared.length; k < n; k++) {
+                double value = shared[k] + (local[k] - base[k]);
+                shared[k] = value;
+                local[k] = value;
+                base[k] = value;
             }
         }
+    }
 
-        for (int i = 0; i < numberOfRules; i++) {
-            for (int j = 0; j < dimension; j++) {
-                coef[i][2 * j] += eta1 * dCoef[i][2 * j];
-                coef[i][2 * j + 1] += eta2 * dCoef[i][2 * j + 1];
-                linCoef[i][j] += eta1 * dLinCoef[i][j];
+    private Optimizer.State[] workerStates(int workers) {
+        if (workerStates == null || workerStates.length < workers) {
+            Optimizer.State[] extended = new Optimizer.State[workers];
+            for (int k = 0; k < workers; k++) {
+                extended[k] = (workerStates != null && k < workerStates.length) ? workerStates[k] : optimizer.initialize(parameters.values.length);
             }
-            linCoef[i][dimension] += eta1 * dLinCoef[i][dimension];
+            workerStates = extended;
         }
+        return workerStates;
+    }
+
+    protected abstract List<Dataset> partition(Dataset samples);
+
+    protected final void processBatch(Dataset batch) {
+        accumulateGradient(batch);
+        update(parameters.values, workspace.gradient, optimizerState);
+    }
+
+    private void accumulateGradient(Dataset batch) {
+        int workers = Math.min(parallelism, batch.size());
+        if (workers > 1) {
+            accumulateGradientInParallel(batch, workers);
+        } else {
+            accumulateGradient(parameters, batch, workspace);
+        }
+    }
+
+    private void update(double[] values, double[] gradient, Optimizer.State state) {
+        long start = (metrics != null) ? System.nanoTime() : 0L;
+        int centersOffset = parameters.centersOffset;
+        int linearOffset = parameters.linearOffset;
+
+        state.step();
+        if (updatesPremises()) {
+            state.update(values, gradient, 0, centersOffset, learningRate1);
+            state.update(values, gradient, centersOffset, linearOffset, learningRate2);
+        }
+        if (updatesConsequents()) state.update(values, gradient, linearOffset, values.length, learningRate1);
+        if (metrics != null) metrics.recordUpdate(System.nanoTime() - start);
+    }
+
+    void beginTraining() {
+    }
+
+    void preprocess(DatasetSource source) {
+    }
+
+    void postprocess(Dataset samples) {
+    }
+
+    void postprocess(DatasetSource source) {
+    }
+
+    boolean processesBlocksSeparately() {
+        return true;
+    }
+
+    int asynchronousWorkers() {
+        return 1;
+    }
+
+    int synchronizationInterval() {
+        return 0;
+    }
+
+    boolean updatesPremises() {
+        return true;
+    }
+
+    boolean updatesConsequents() {
+        return true;
+    }
+
+    private boolean updatesParameters() {
+        return updatesPremises() || updatesConsequents();
+    }
+
+    Parameters parameters() {
+        return parameters;
+    }
+
+    boolean isFitted() {
+        return isFitted;
+    }
+
+    private void accumulateGradientInParallel(Dataset batch, int workers) {
+        Workspace[] workspaces = workspaces(workers);
+        List<Callable<Void>> tasks = new ArrayList<>(workers);
+        int size = batch.size();
+        for (int k = 0; k < workers; k++) {
+            Dataset chunk = batch.rows((int) ((long) k * size / workers), (int) ((long) (k + 1) * size / workers));
+            Workspace ws = workspaces[k];
+            tasks.add(() -> {
+                accumulateGradient(parameters, chunk, ws);
+                return null;
+            });
+        }
+        invokeAll(tasks);
+
+        double[] gradient = workspace.gradient;
+        for (int k = 1; k < workers; k++) {
+            double[] partial = workspaces[k].gradient;
+            for (int l = 0, n = gradient.length; l < n; l++) {
+                gradient[l] += partial[l];
+            }
+        }
+        mergeLosses(workspaces, workers);
+    }
+
+    private void invokeAll(List<Callable<Void>> tasks) {
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while computing gradient", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void mergeLosses(Workspace[] workspaces, int workers) {
+        if (!tracksTrainingLoss()) return;
+        for (int k = 1; k < workers; k++) {
+            workspace.loss.merge(workspaces[k].loss);
+            workspaces[k].loss.reset();
+        }
+    }
+
+    private Workspace[] workspaces(int workers) {
+        if (workspaces == null || workspaces.length < workers) {
+            Workspace[] extended = new Workspace[workers];
+            extended[0] = workspace;
+            for (int k = 1; k < workers; k++) {
+                extended[k] = (workspaces != null && k < workspaces.length) ? workspaces[k] : newWorkspace();
+            }
+            workspaces = extended;
+        }
+        return workspaces;
+    }
+
+    private Workspace newWorkspace() {
+        return new Workspace(parameters, (lossFunction instanceof DecomposableLossFunction decomposable) ? decomposable.accumulator() : null, engine.isVectorized());
+    }
+
+    private void accumulateGradient(Parameters parameters, Dataset batch, Workspace ws) {
+        ws.clearGradient();
+        boolean trackLoss = tracksTrainingLoss();
+        MetricsRegistry metrics = this.metrics;
+        long forward = 0L;
+        long backward = 0L;
+        long time = (metrics != null) ? System.nanoTime() : 0L;
+
+        double[] data = batch.data();
+        double[] predictions = ws.outputs;
+        double[] errors = ws.errors;
+        for (int row = 0, n = batch.size(); row < n; row++) {
+            int input = batch.offset(row);
+            int target = batch.targetOffset(row);
+
+            engine.forwardPass(parameters, data, input, ws);
+            if (metrics != null) {
+                long now = System.nanoTime();
+                forward += now - time;
+                time = now;
+            }
+            if (Double.isNaN(ws.weightSum)) throw new CriticalDivergenceException(getClass());
+            for (int o = 0; o < outputs; o++) {
+                errors[o] = data[target + o] - predictions[o];
+            }
+            if (trackLoss) {
+                if (outputs == 1) {
+                    ws.loss.add(data[target], predictions[0]);
+                } else {
+                    ws.loss.add(data, target, predictions);
+                }
+            }
+
+            engine.backwardPass(parameters, data, input, ws);
+            if (metrics != null) {
+                long now = System.nanoTime();
+                backward += now - time;
+                time = now;
+            }
+        }
+        if (metrics != null) metrics.recordGradient(batch.size(), forward, backward);
     }
 
     @Override
     public final IncrementalMachineLearningModel partialFit(List<Sample> samples) {
+        return partialFit(Dataset.of(samples));
+    }
+
+    @Override
+    public final IncrementalMachineLearningModel partialFit(Dataset samples) {
         if (!isFitted) return fit(samples);
         checkCorrectDimension(samples);
         return train(samples);
     }
 
-    private void checkCorrectDimension(List<Sample> samples) {
+    public final IncrementalMachineLearningModel partialFit(DatasetSource source) {
+        if (!isFitted) return fit(source);
+        if (source.inputDimension() != dimension || source.outputDimension() != outputs)
+            throw new InvalidDatasetException();
+        return train(source);
+    }
+
+    private void checkCorrectDimension(Dataset samples) {
         if (dimension == 0) return;
-        if (!samples.stream().allMatch(sample -> sample.x().length == dimension && sample.y().length == 1))
+        if (samples.isEmpty() || samples.inputDimension() != dimension || samples.outputDimension() != outputs)
             throw new InvalidDatasetException();
     }
 
     @Override
     public final double[] predict(double[] input) {
         if (!isFitted) throw new ModelNotFittedException(getClass());
-        return forwardPass(input);
+        if (metrics == null) return evaluate(input, 0, input.length);
+        InferenceEvent event = metrics.beginInference();
+        double[] predictions = evaluate(input, 0, input.length);
+        metrics.endInference(event, 1);
+        return predictions;
     }
 
-    private double[][] cachedMemberships;
-    private double[] cachedWeights;
-    private double cachedWeightSum = Double.NaN;
-    private double[] cachedConsequents;
+    @Override
+    public final double[] predict(double[] data, int offset, int length) {
+        if (!isFitted) throw new ModelNotFittedException(getClass());
+        if (metrics == null) return evaluate(data, offset, length);
+        InferenceEvent event = metrics.beginInference();
+        double[] predictions = evaluate(data, offset, length);
+        metrics.endInference(event, 1);
+        return predictions;
+    }
 
-    private double[] forwardPass(double[] input) {
+    public final void predictInto(double[] input, double[] out) {
+        if (!isFitted) throw new ModelNotFittedException(getClass());
         if (input.length != dimension) throw new InputDimensionMismatch(dimension, input.length);
+        InferenceEvent event = (metrics != null) ? metrics.beginInference() : null;
+        if (outputs == 1) {
+            out[0] = parameters.evaluate(input);
+        } else {
+            Objects.checkFromIndexSize(0, outputs, out.length);
+            parameters.evaluate(input, 0, out, 0);
+        }
+        if (event != null) metrics.endInference(event, 1);
+        checkPredictions(out, 0, outputs);
+    }
 
-        double prediction = 0.;
-        double weightsSum = 0.;
-        double[][] memberships = new double[numberOfRules][];
-        double[] weights = new double[numberOfRules];
-        double[] consequents = new double[numberOfRules];
-        for (int i = 0; i < numberOfRules; i++) {
-            memberships[i] = new double[dimension];
+    public final void predictInto(Dataset samples, double[] out) {
+        if (!isFitted) throw new ModelNotFittedException(getClass());
+        if (samples.inputDimension() != dimension) throw new InputDimensionMismatch(dimension, samples.inputDimension());
+        int count = Math.multiplyExact(samples.size(), outputs);
+        Objects.checkFromIndexSize(0, count, out.length);
+        if (samples.isEmpty()) return;
+        InferenceEvent event = (metrics != null) ? metrics.beginInference() : null;
+        Tile tile = tiles.acquire(dimension, outputs);
+        engine.evaluate(parameters, samples, out, tile);
+        tiles.release(tile);
+        if (event != null) metrics.endInference(event, samples.size());
+        checkPredictions(out, 0, count);
+    }
 
-            double weight = 1.;
-            for (int j = 0; j < dimension; j++) {
-                double membership = sigmoid(input[j], coef[i][2 * j], coef[i][2 * j + 1]);
-                if (Double.isNaN(membership)) throw new CriticalDivergenceException(getClass());
-                memberships[i][j] = membership;
-                weight *= membership;
-            }
-            double consequent = linear(input, linCoef[i]);
+    public final void predictInto(double[] data, int offset, int rows, double[] out, int outOffset) {
+        if (!isFitted) throw new ModelNotFittedException(getClass());
+        Objects.checkFromIndexSize(offset, Math.multiplyExact(rows, dimension), data.length);
+        int count = Math.multiplyExact(rows, outputs);
+        Objects.checkFromIndexSize(outOffset, count, out.length);
+        InferenceEvent event = (metrics != null) ? metrics.beginInference() : null;
+        Tile tile = tiles.acquire(dimension, outputs);
+        engine.evaluate(parameters, data, offset, dimension, rows, out, outOffset, tile);
+        tiles.release(tile);
+        if (event != null) metrics.endInference(event, rows);
+        checkPredictions(out, outOffset, count);
+    }
 
-            prediction += weight * consequent;
-            weightsSum += weight;
+    private void checkPredictions(double[] predictions, int from, int count) {
+        for (int k = from, to = from + count; k < to; k++) {
+            if (Double.isNaN(predictions[k])) throw new CriticalDivergenceException(getClass());
+        }
+    }
 
-            weights[i] = weight;
-            consequents[i] = consequent;
+    private double[] evaluate(double[] input, int offset, int length) {
+        if (length != dimension) throw new InputDimensionMismatch(dimension, length);
+        if (outputs == 1) {
+            double prediction = parameters.evaluate(input, offset);
+            if (Double.isNaN(prediction)) throw new CriticalDivergenceException(getClass());
+            return new double[]{prediction};
         }
+        double[] predictions = new double[outputs];
+        parameters.evaluate(input, offset, predictions, 0);
+        checkPredictions(predictions, 0, outputs);
+        return predictions;
+    }
 
-        cachedMemberships = memberships;
-        cachedWeights = weights;
-        cachedWeightSum = weightsSum;
-        cachedConsequents = consequents;
+    private abstract class TrainingContext implements EvaluationContext {
 
-        return new double[]{prediction / weightsSum};
-    }
+        private RandomGenerator stream;
 
-    private static double sigmoid(double input, double bi, double ai) {
-        return 1. / (1. + Math.exp(bi * (input - ai)));
-    }
+        @Override
+        public Predictor model() {
+            return evaluator;
+        }
 
-    private static double linear(double[] input, double[] coefficients) {
-        double value = 0;
-        int dimension = coefficients.length - 1;
-        for (int i = 0; i < dimension; i++) {
-            value += input[i] * coefficients[i];
+        @Override
+        public LossFunction lossFunction() {
+            return lossFunction;
+        }
+
+        @Override
+        public double trainingLoss() {
+            return tracksTrainingLoss() ? workspace.loss.score() : Double.NaN;
+        }
+
+        @Override
+        public RandomGenerator random() {
+            if (stream == null) stream = random.split();
+            return stream;
         }
-        value += coefficients[dimension];
-        return value;
     }
 
     private static final String COEF_DELIMITER = ";";
 
     public void save(String path) throws IOException {
+        if (!isFitted) throw new ModelNotFittedException(getClass());
+        double[][] coef = parameters.premiseCoefficients();
+        double[][] linCoef = parameters.linearCoefficients();
         try (var writer = Files.newBufferedWriter(Path.of(path))) {
             for (int i = 0; i < numberOfRules; i++) {
                 String coefString = Arrays.stream(coef[i]).mapToObj(String::valueOf).collect(Collectors.joining(COEF_DELIMITER));
@@ -254,25 +944,25 @@ public abstract class ANFIS extends AbstractModelSubject implements IncrementalM
         }
     }
 
-    private static void construct(double[][] coef, double[][] linCoef, int dimension) {
-        int coefCountPerDimension = 2 * dimension;
-        int linCoefCountPerDimension = dimension + 1;
-        for (int i = 0, n = coef.length; i < n; i++) {
-            coef[i] = new double[coefCountPerDimension];
-            linCoef[i] = new double[linCoefCountPerDimension];
-        }
+    public void saveBinary(String path) throws IOException {
+        if (!isFitted) throw new ModelNotFittedException(getClass());
+        BinaryModelFormat.write(parameters, Path.of(path));
     }
 
-    private static void initialize(double[][] coef, double[][] linCoef, int dimension) {
-        construct(coef, linCoef, dimension);
-        Random random = SourceOfRandomness.getSource();
-        for (int i = 0, n = coef.length; i < n; i++) {
+    private void initialize(Parameters parameters) {
+        double[] values = parameters.values;
+        int dimension = parameters.dimension;
+        for (int i = 0, n = parameters.numberOfRules; i < n; i++) {
+            int slope = i * dimension;
+            int center = parameters.centersOffset + slope;
+            int linear = parameters.linearOffset + i * parameters.linearStride;
             for (int j = 0; j < dimension; j++) {
-                coef[i][2 * j] = -0.5 + random.nextDouble();
-                coef[i][2 * j + 1] = -0.5 + random.nextDouble();
-                linCoef[i][j] = -0.5 + random.nextDouble();
+                values[slope + j] = -0.5 + random.nextDouble();
+                values[center + j] = -0.5 + random.nextDouble();
+                for (int o = 0; o < parameters.outputs; o++) {
+                    values[linear + o * parameters.outputStride + j] = -0.5 + random.nextDouble();
+                }
             }
-            linCoef[i][dimension] = 0.;
         }
     }
 }
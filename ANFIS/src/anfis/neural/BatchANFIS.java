@@ -1,7 +1,7 @@
 package anfis.neural;
 
 import anfis.ml.loss.LossFunction;
-import anfis.ml.sampling.Sample;
+import anfis.ml.sampling.Dataset;
 import anfis.ml.sampling.Sampling;
 import anfis.ml.stopping.StoppingCondition;
 
@@ -21,7 +21,7 @@ public class BatchANFIS extends ANFIS {
     }
 
     @Override
-    protected final List<List<Sample>> partition(List<Sample> samples) {
+    protected final List<Dataset> partition(Dataset samples) {
         return Sampling.partition(samples, samples.size());
     }
 }
@@ -0,0 +1,92 @@
+package anfis.neural;
+
+import anfis.ml.exceptions.InvalidModelFileException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+final class BinaryModelFormat {
+
+    static final int MAGIC = 0x414E464D;
+    static final int VERSION = 2;
+    static final int SINGLE_OUTPUT_VERSION = 1;
+    static final int HEADER_SIZE = 32;
+
+    static final int SIGMOID_MEMBERSHIP = 0;
+
+    static final ByteOrder ORDER = ByteOrder.LITTLE_ENDIAN;
+
+    private BinaryModelFormat() {
+    }
+
+    static void write(Parameters parameters, Path path) throws IOException {
+        double[] values = parameters.values;
+        ByteBuffer buffer = ByteBuffer.allocate(HEADER_SIZE + values.length * Double.BYTES).order(ORDER);
+        buffer.putInt(MAGIC)
+                .putInt(parameters.outputs == 1 ? SINGLE_OUTPUT_VERSION : VERSION)
+                .putInt(parameters.numberOfRules)
+                .putInt(parameters.dimension)
+                .putInt(SIGMOID_MEMBERSHIP)
+                .putInt(values.length)
+                .putInt(parameters.outputs == 1 ? 0 : parameters.outputs)
+                .putInt(0);
+        buffer.asDoubleBuffer().put(values);
+        buffer.rewind();
+
+        Path temporary = Files.createTempFile(path.toAbsolutePath().getParent(), path.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(false);
+            }
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    static Parameters read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) throw new InvalidModelFileException("truncated header");
+            ByteBuffer buffer = read(channel, 0, HEADER_SIZE);
+
+            if (buffer.getInt() != MAGIC) throw new InvalidModelFileException("not a binary model");
+            int version = buffer.getInt();
+            if (version != VERSION && version != SINGLE_OUTPUT_VERSION) throw new InvalidModelFileException("unsupported version " + version);
+
+            int numberOfRules = buffer.getInt();
+            int dimension = buffer.getInt();
+            int membership = buffer.getInt();
+            int parameterCount = buffer.getInt();
+            int outputs = version == SINGLE_OUTPUT_VERSION ? 1 : buffer.getInt();
+            if (membership != SIGMOID_MEMBERSHIP) throw new InvalidModelFileException("unsupported membership type " + membership);
+            if (numberOfRules < 1 || dimension < 1 || outputs < 1)
+                throw new InvalidModelFileException("invalid shape " + numberOfRules + "x" + dimension + "x" + outputs);
+
+            if (parameterCount != 2L * numberOfRules * dimension + (long) outputs * numberOfRules * (dimension + 1))
+                throw new InvalidModelFileException("parameter count does not match shape");
+            if (size != HEADER_SIZE + (long) parameterCount * Double.BYTES) throw new InvalidModelFileException("unexpected file size");
+
+            Parameters parameters = new Parameters(numberOfRules, dimension, outputs);
+            read(channel, HEADER_SIZE, Math.multiplyExact(parameterCount, Double.BYTES)).asDoubleBuffer().get(parameters.values);
+            return parameters;
+        }
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ORDER);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) throw new InvalidModelFileException("truncated file");
+        }
+        return buffer.flip();
+    }
+}
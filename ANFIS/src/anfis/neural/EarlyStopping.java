@@ -0,0 +1,65 @@
+package anfis.neural;
+
+import anfis.ml.Predictor;
+import anfis.ml.loss.LossFunction;
+import anfis.ml.sampling.Dataset;
+
+final class EarlyStopping {
+
+    final Dataset validation;
+    private final int interval;
+    private final int patience;
+
+    private double[] best;
+    private double bestError;
+    private int bestIteration;
+    private int lastEvaluation;
+    private double lastError;
+    private int stale;
+
+    EarlyStopping(Dataset validation, int interval, int patience) {
+        this.validation = validation;
+        this.interval = interval;
+        this.patience = patience;
+    }
+
+    void begin(double[] values) {
+        if (best == null || best.length != values.length) best = new double[values.length];
+        bestError = Double.POSITIVE_INFINITY;
+        bestIteration = -1;
+        lastEvaluation = -1;
+        stale = 0;
+    }
+
+    boolean isMet(int iteration, Predictor model, LossFunction lossFunction, double[] values) {
+        if (iteration % interval != 0) return false;
+        evaluate(iteration, model, lossFunction, values);
+        return stale >= patience;
+    }
+
+    void finish(int iteration, Predictor model, LossFunction lossFunction, double[] values) {
+        if (lastEvaluation != iteration) evaluate(iteration, model, lossFunction, values);
+        if (lastError > bestError) System.arraycopy(best, 0, values, 0, values.length);
+    }
+
+    private void evaluate(int iteration, Predictor model, LossFunction lossFunction, double[] values) {
+        lastEvaluation = iteration;
+        lastError = lossFunction.score(model, validation);
+        if (lastError < bestError) {
+            bestError = lastError;
+            bestIteration = iteration;
+            System.arraycopy(values, 0, best, 0, values.length);
+            stale = 0;
+        } else {
+            stale++;
+        }
+    }
+
+    double bestError() {
+        return bestError;
+    }
+
+    int bestIteration() {
+        return bestIteration;
+    }
+}
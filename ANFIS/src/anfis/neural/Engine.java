@@ -0,0 +1,32 @@
+package anfis.neural;
+
+import anfis.ml.sampling.Dataset;
+
+interface Engine {
+
+    void forwardPass(Parameters parameters, double[] input, int offset, Workspace ws);
+
+    void backwardPass(Parameters parameters, double[] input, int offset, Workspace ws);
+
+    void evaluate(Parameters parameters, Tile tile, int rows, double[] out, int outOffset);
+
+    default void evaluate(Parameters parameters, double[] data, int offset, int stride, int rows, double[] out, int outOffset, Tile tile) {
+        for (int first = 0; first < rows; first += Tile.ROWS) {
+            int count = Math.min(Tile.ROWS, rows - first);
+            tile.gather(data, offset + first * stride, stride, count);
+            evaluate(parameters, tile, count, out, outOffset + first * parameters.outputs);
+        }
+    }
+
+    default void evaluate(Parameters parameters, Dataset samples, double[] out, Tile tile) {
+        for (int first = 0, rows = samples.size(); first < rows; first += Tile.ROWS) {
+            int count = Math.min(Tile.ROWS, rows - first);
+            tile.gather(samples, first, count);
+            evaluate(parameters, tile, count, out, first * parameters.outputs);
+        }
+    }
+
+    default boolean isVectorized() {
+        return false;
+    }
+}
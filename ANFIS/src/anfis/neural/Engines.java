@@ -0,0 +1,30 @@
+package anfis.neural;
+
+final class Engines {
+
+    private static final String VECTOR_MODULE = "jdk.incubator.vector";
+    private static final String VECTOR_ENGINE = "anfis.neural.VectorEngine";
+
+    private static final Engine SCALAR = new ScalarEngine();
+    private static final Engine VECTOR = loadVectorEngine();
+
+    private Engines() {
+    }
+
+    static Engine scalar() {
+        return SCALAR;
+    }
+
+    static Engine vector() {
+        return VECTOR;
+    }
+
+    private static Engine loadVectorEngine() {
+        if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) return SCALAR;
+        try {
+            return (Engine) Class.forName(VECTOR_ENGINE).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return SCALAR;
+        }
+    }
+}
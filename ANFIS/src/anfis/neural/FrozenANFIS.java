@@ -0,0 +1,224 @@
+package anfis.neural;
+
+import anfis.ml.Predictor;
+import anfis.ml.exceptions.InputDimensionMismatch;
+import anfis.ml.exceptions.InvalidDatasetException;
+import anfis.ml.loss.LossFunctions;
+import anfis.ml.metrics.InferenceEvent;
+import anfis.ml.metrics.MetricsRegistry;
+import anfis.ml.sampling.Dataset;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+public final class FrozenANFIS implements Predictor {
+
+    private static final int LATENCY_REPETITIONS = 5;
+
+    private final Parameters parameters;
+    private final Engine engine;
+    private final Tile.Cache tiles = new Tile.Cache();
+    private final double activationThreshold;
+    private final MetricsRegistry metrics;
+
+    FrozenANFIS(Parameters parameters, Engine engine) {
+        this(parameters, engine, 0., null);
+    }
+
+    FrozenANFIS(Parameters parameters, Engine engine, MetricsRegistry metrics) {
+        this(parameters, engine, 0., metrics);
+    }
+
+    private FrozenANFIS(Parameters parameters, Engine engine, double activationThreshold, MetricsRegistry metrics) {
+        this.parameters = parameters;
+        this.engine = engine;
+        this.activationThreshold = activationThreshold;
+        this.metrics = metrics;
+    }
+
+    public static FrozenANFIS load(String path) throws IOException {
+        return load(path, false);
+    }
+
+    public static FrozenANFIS load(String path, boolean vectorized) throws IOException {
+        return new FrozenANFIS(BinaryModelFormat.read(Path.of(path)), vectorized ? Engines.vector() : Engines.scalar());
+    }
+
+    public void save(String path) throws IOException {
+        BinaryModelFormat.write(parameters, Path.of(path));
+    }
+
+    public int getNumberOfRules() {
+        return parameters.numberOfRules;
+    }
+
+    public int getDimension() {
+        return parameters.dimension;
+    }
+
+    public int getOutputDimension() {
+        return parameters.outputs;
+    }
+
+    public boolean isVectorized() {
+        return engine.isVectorized();
+    }
+
+    public double getActivationThreshold() {
+        return activationThreshold;
+    }
+
+    public FrozenANFIS withActivationThreshold(double activationThreshold) {
+        if (!(activationThreshold >= 0. && activationThreshold < 1.))
+            throw new IllegalArgumentException("Activation threshold must be in [0, 1), got: " + activationThreshold);
+        return new FrozenANFIS(parameters, engine, activationThreshold, metrics);
+    }
+
+    public MetricsRegistry getMetrics() {
+        return metrics;
+    }
+
+    public FrozenANFIS withMetrics(MetricsRegistry metrics) {
+        return new FrozenANFIS(parameters, engine, activationThreshold, metrics);
+    }
+
+    @Override
+    public double[] predict(double[] input) {
+        return predict(input, 0, input.length);
+    }
+
+    @Override
+    public double[] predict(double[] data, int offset, int length) {
+        if (length != parameters.dimension) throw new InputDimensionMismatch(parameters.dimension, length);
+        InferenceEvent event = (metrics != null) ? metrics.beginInference() : null;
+        double[] predictions;
+        if (parameters.outputs == 1) {
+            predictions = new double[]{evaluate(data, offset)};
+        } else {
+            predictions = new double[parameters.outputs];
+            evaluate(data, offset, predictions, 0);
+        }
+        if (event != null) metrics.endInference(event, 1);
+        return predictions;
+    }
+
+    public void predictInto(double[] input, double[] out) {
+        if (parameters.outputs == 1) {
+            out[0] = predictScalar(input);
+            return;
+        }
+        if (input.length != parameters.dimension) throw new InputDimensionMismatch(parameters.dimension, input.length);
+        Objects.checkFromIndexSize(0, parameters.outputs, out.length);
+        InferenceEvent event = (metrics != null) ? metrics.beginInference() : null;
+        evaluate(input, 0, out, 0);
+        if (event != null) metrics.endInference(event, 1);
+    }
+
+    public void predictInto(Dataset samples, double[] out) {
+        if (samples.inputDimension() != parameters.dimension) throw new InputDimensionMismatch(parameters.dimension, samples.inputDimension());
+        Objects.checkFromIndexSize(0, Math.multiplyExact(samples.size(), parameters.outputs), out.length);
+        if (samples.isEmpty()) return;
+        InferenceEvent event = (metrics != null) ? metrics.beginInference() : null;
+        if (activationThreshold > 0.) {
+            for (int row = 0, n = samples.size(); row < n; row++) {
+                evaluate(samples.data(), samples.offset(row), samples.stride(), 1, out, row * parameters.outputs);
+            }
+        } else {
+            Tile tile = tiles.acquire(parameters.dimension, parameters.outputs);
+            engine.evaluate(parameters, samples, out, tile);
+            tiles.release(tile);
+        }
+        if (event != null) metrics.endInference(event, samples.size());
+    }
+
+    public void predictInto(double[] data, int offset, int rows, double[] out, int outOffset) {
+        Objects.checkFromIndexSize(offset, Math.multiplyExact(rows, parameters.dimension), data.length);
+        Objects.checkFromIndexSize(outOffset, Math.multiplyExact(rows, parameters.outputs), out.length);
+        InferenceEvent event = (metrics != null) ? metrics.beginInference() : null;
+        evaluate(data, offset, parameters.dimension, rows, out, outOffset);
+        if (event != null) metrics.endInference(event, rows);
+    }
+
+    public double predictScalar(double[] input) {
+        if (parameters.outputs != 1) throw new IllegalStateException("Scalar prediction requires a single-output model");
+        if (input.length != parameters.dimension) throw new InputDimensionMismatch(parameters.dimension, input.length);
+        if (metrics == null) return evaluate(input, 0);
+        InferenceEvent event = metrics.beginInference();
+        double prediction = evaluate(input, 0);
+        metrics.endInference(event, 1);
+        return prediction;
+    }
+
+    private double evaluate(double[] input, int offset) {
+        return activationThreshold > 0. ? parameters.evaluate(input, offset, activationThreshold) : parameters.evaluate(input, offset);
+    }
+
+    private void evaluate(double[] input, int offset, double[] out, int outOffset) {
+        parameters.evaluate(input, offset, out, outOffset, activationThreshold);
+    }
+
+    private void evaluate(double[] data, int offset, int stride, int rows, double[] out, int outOffset) {
+        if (activationThreshold > 0.) {
+            int outputs = parameters.outputs;
+            for (int row = 0; row < rows; row++) {
+                if (outputs == 1) {
+                    out[outOffset + row] = parameters.evaluate(data, offset + row * stride, activationThreshold);
+                } else {
+                    parameters.evaluate(data, offset + row * stride, out, outOffset + row * outputs, activationThreshold);
+                }
+            }
+        } else {
+            Tile tile = tiles.acquire(parameters.dimension, parameters.outputs);
+            engine.evaluate(parameters, data, offset, stride, rows, out, outOffset, tile);
+            tiles.release(tile);
+        }
+    }
+
+    public PruningReport prune(Dataset reference, double minimumActivation) {
+        if (reference.isEmpty() || reference.outputDimension() != parameters.outputs) throw new InvalidDatasetException();
+        if (reference.inputDimension() != parameters.dimension) throw new InputDimensionMismatch(parameters.dimension, reference.inputDimension());
+
+        int numberOfRules = parameters.numberOfRules;
+        double[] weights = new double[numberOfRules];
+        double[] maximumActivations = new double[numberOfRules];
+        double[] data = reference.data();
+        for (int row = 0, n = reference.size(); row < n; row++) {
+            double weightsSum = parameters.firingStrengths(data, reference.offset(row), weights);
+            if (!(weightsSum > 0.)) continue;
+            for (int i = 0; i < numberOfRules; i++) {
+                maximumActivations[i] = Math.max(maximumActivations[i], weights[i] / weightsSum);
+            }
+        }
+
+        int strongest = IntStream.range(0, numberOfRules).reduce((a, b) -> maximumActivations[b] > maximumActivations[a] ? b : a).orElseThrow();
+        int[] retained = IntStream.range(0, numberOfRules)
+                .filter(i -> i == strongest || maximumActivations[i] >= minimumActivation)
+                .toArray();
+        FrozenANFIS pruned = new FrozenANFIS(parameters.retain(retained), engine, activationThreshold, metrics);
+
+        return new PruningReport(
+                pruned,
+                numberOfRules,
+                retained.length,
+                maximumActivations,
+                LossFunctions.MSE().score(this, reference),
+                LossFunctions.MSE().score(pruned, reference),
+                nanosPerPrediction(this, reference),
+                nanosPerPrediction(pruned, reference)
+        );
+    }
+
+    private static double nanosPerPrediction(FrozenANFIS model, Dataset reference) {
+        double[] out = new double[reference.size() * model.getOutputDimension()];
+        model.predictInto(reference, out);
+        long best = Long.MAX_VALUE;
+        for (int k = 0; k < LATENCY_REPETITIONS; k++) {
+            long start = System.nanoTime();
+            model.predictInto(reference, out);
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return (double) best / reference.size();
+    }
+}
@@ -0,0 +1,58 @@
+package anfis.neural;
+
+import anfis.ml.Predictor;
+import anfis.ml.sampling.Dataset;
+
+import java.io.IOException;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+public final class HotSwapANFIS implements Predictor {
+
+    private final AtomicReference<FrozenANFIS> model;
+
+    public HotSwapANFIS(FrozenANFIS model) {
+        this.model = new AtomicReference<>(Objects.requireNonNull(model));
+    }
+
+    public FrozenANFIS current() {
+        return model.get();
+    }
+
+    public FrozenANFIS swap(FrozenANFIS replacement) {
+        return model.getAndSet(Objects.requireNonNull(replacement));
+    }
+
+    public FrozenANFIS reload(String path) throws IOException {
+        FrozenANFIS current = model.get();
+        return swap(FrozenANFIS.load(path, current.isVectorized())
+                .withActivationThreshold(current.getActivationThreshold())
+                .withMetrics(current.getMetrics()));
+    }
+
+    @Override
+    public double[] predict(double[] input) {
+        return model.get().predict(input);
+    }
+
+    @Override
+    public double[] predict(double[] data, int offset, int length) {
+        return model.get().predict(data, offset, length);
+    }
+
+    public void predictInto(double[] input, double[] out) {
+        model.get().predictInto(input, out);
+    }
+
+    public void predictInto(Dataset samples, double[] out) {
+        model.get().predictInto(samples, out);
+    }
+
+    public void predictInto(double[] data, int offset, int rows, double[] out, int outOffset) {
+        model.get().predictInto(data, offset, rows, out, outOffset);
+    }
+
+    public double predictScalar(double[] input) {
+        return model.get().predictScalar(input);
+    }
+}
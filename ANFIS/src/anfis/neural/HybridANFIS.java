@@ -0,0 +1,153 @@
+package anfis.neural;
+
+import anfis.ml.exceptions.CriticalDivergenceException;
+import anfis.ml.loss.LossFunction;
+import anfis.ml.sampling.Dataset;
+import anfis.ml.sampling.DatasetSource;
+import anfis.ml.sampling.DatasetSource.BlockIterator;
+import anfis.ml.sampling.Sampling;
+import anfis.ml.stopping.StoppingCondition;
+
+import java.util.List;
+
+public class HybridANFIS extends ANFIS {
+
+    private static final double DEFAULT_ETA_1 = 0.001;
+    private static final double DEFAULT_ETA_2 = 0.0005;
+
+    private static final double DEFAULT_REGULARIZATION = 1e-12;
+    private static final double DEFAULT_FORGETTING_FACTOR = 1.;
+
+    private double regularization = DEFAULT_REGULARIZATION;
+    private double forgettingFactor = DEFAULT_FORGETTING_FACTOR;
+
+    private LeastSquares prior;
+    private LeastSquares estimator;
+    private boolean isSolved;
+
+    public HybridANFIS(int numberOfRules) {
+        super(numberOfRules, DEFAULT_ETA_1, DEFAULT_ETA_2);
+    }
+
+    public HybridANFIS(int numberOfRules, double eta1, double eta2, LossFunction lossFunction, StoppingCondition stoppingCondition) {
+        super(numberOfRules, eta1, eta2, lossFunction, stoppingCondition);
+    }
+
+    public double getRegularization() {
+        return regularization;
+    }
+
+    public void setRegularization(double regularization) {
+        if (!(regularization >= 0.)) throw new IllegalArgumentException("Regularization must not be negative, got: " + regularization);
+        this.regularization = regularization;
+    }
+
+    public double getForgettingFactor() {
+        return forgettingFactor;
+    }
+
+    public void setForgettingFactor(double forgettingFactor) {
+        if (!(forgettingFactor >= 0. && forgettingFactor <= 1.))
+            throw new IllegalArgumentException("Forgetting factor must be in [0, 1], got: " + forgettingFactor);
+        this.forgettingFactor = forgettingFactor;
+    }
+
+    @Override
+    final void beginTraining() {
+        prior = isFitted() ? estimator : null;
+        if (prior != null) prior.forget(forgettingFactor);
+        isSolved = false;
+    }
+
+    @Override
+    protected final void preprocess(Dataset samples) {
+        if (!isSolved) solve(samples);
+    }
+
+    @Override
+    final void preprocess(DatasetSource source) {
+        if (!isSolved) solve(source);
+    }
+
+    @Override
+    final void postprocess(Dataset samples) {
+        solve(samples);
+    }
+
+    @Override
+    final void postprocess(DatasetSource source) {
+        solve(source);
+    }
+
+    @Override
+    protected final List<Dataset> partition(Dataset samples) {
+        return Sampling.partition(samples, samples.size());
+    }
+
+    @Override
+    final boolean processesBlocksSeparately() {
+        return false;
+    }
+
+    @Override
+    final boolean updatesPremises() {
+        return !isFitted();
+    }
+
+    @Override
+    final boolean updatesConsequents() {
+        return false;
+    }
+
+    private void solve(Dataset samples) {
+        Parameters parameters = parameters();
+        estimator = newEstimator(parameters);
+        accumulate(parameters, samples);
+        solve(parameters);
+    }
+
+    private void solve(DatasetSource source) {
+        Parameters parameters = parameters();
+        estimator = newEstimator(parameters);
+        try (BlockIterator blocks = source.blocks()) {
+            while (blocks.hasNext()) {
+                accumulate(parameters, blocks.next());
+            }
+        }
+        solve(parameters);
+    }
+
+    private LeastSquares newEstimator(Parameters parameters) {
+        return (prior != null) ? prior.copy() : new LeastSquares(parameters.numberOfRules * parameters.linearStride, parameters.outputs, regularization);
+    }
+
+    private void accumulate(Parameters parameters, Dataset samples) {
+        double[] regressor = new double[parameters.numberOfRules * parameters.linearStride];
+        double[] weights = new double[parameters.numberOfRules];
+
+        double[] data = samples.data();
+        for (int row = 0, size = samples.size(); row < size; row++) {
+            regressor(parameters, data, samples.offset(row), weights, regressor);
+            estimator.add(regressor, data, samples.targetOffset(row));
+        }
+    }
+
+    private void solve(Parameters parameters) {
+        if (!estimator.solve(parameters.values, parameters.linearOffset)) throw new CriticalDivergenceException(getClass());
+        isSolved = true;
+    }
+
+    private static void regressor(Parameters parameters, double[] data, int offset, double[] weights, double[] regressor) {
+        double weightsSum = parameters.firingStrengths(data, offset, weights);
+        int dimension = parameters.dimension;
+        int linearStride = parameters.linearStride;
+        for (int i = 0; i < parameters.numberOfRules; i++) {
+            double normalized = weights[i] / weightsSum;
+            int linear = i * linearStride;
+            for (int j = 0; j < dimension; j++) {
+                regressor[linear + j] = normalized * data[offset + j];
+            }
+            regressor[linear + dimension] = normalized;
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package anfis.neural;
+
+final class LeastSquares {
+
+    private final int n;
+    private final int targets;
+    private final double[] r;
+    private final double[] z;
+    private final double[] row;
+    private final double[] residual;
+
+    LeastSquares(int n, int targets, double regularization) {
+        this.n = n;
+        this.targets = targets;
+        this.r = new double[n * n];
+        this.z = new double[n * targets];
+        this.row = new double[n];
+        this.residual = new double[targets];
+
+        double diagonal = Math.sqrt(regularization);
+        for (int p = 0; p < n; p++) {
+            r[p * n + p] = diagonal;
+        }
+    }
+
+    private LeastSquares(LeastSquares other) {
+        n = other.n;
+        targets = other.targets;
+        r = other.r.clone();
+        z = other.z.clone();
+        row = new double[n];
+        residual = new double[targets];
+    }
+
+    LeastSquares copy() {
+        return new LeastSquares(this);
+    }
+
+    void add(double[] regressor, double[] values, int offset) {
+        System.arraycopy(values, offset, residual, 0, targets);
+        System.arraycopy(regressor, 0, row, 0, n);
+        for (int k = 0; k < n; k++) {
+            double wk = row[k];
+            if (wk == 0.) continue;
+
+            int diagonal = k * n + k;
+            double rkk = r[diagonal];
+            double norm = Math.sqrt(rkk * rkk + wk * wk);
+            double c = rkk / norm;
+            double s = wk / norm;
+            r[diagonal] = norm;
+
+            for (int j = k + 1; j < n; j++) {
+                double rkj = r[k * n + j];
+                double wj = row[j];
+                r[k * n + j] = c * rkj + s * wj;
+                row[j] = c * wj - s * rkj;
+            }
+
+            for (int t = 0; t < targets; t++) {
+                double zk = z[t * n + k];
+                double target = residual[t];
+                z[t * n + k] = c * zk + s * target;
+                residual[t] = c * target - s * zk;
+            }
+        }
+    }
+
+    void forget(double forgettingFactor) {
+        double scale = Math.sqrt(forgettingFactor);
+        for (int k = 0; k < r.length; k++) {
+            r[k] *= scale;
+        }
+        for (int k = 0; k < z.length; k++) {
+            z[k] *= scale;
+        }
+    }
+
+    boolean solve(double[] coefficients, int offset) {
+        for (int t = 0; t < targets; t++) {
+            int base = offset + t * n;
+            for (int i = n - 1; i >= 0; i--) {
+                double diagonal = r[i * n + i];
+                if (!(diagonal > 0.)) return false;
+                double value = z[t * n + i];
+                for (int k = i + 1; k < n; k++) {
+                    value -= r[i * n + k] * coefficients[base + k];
+                }
+                coefficients[base + i] = value / diagonal;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,200 @@
+package anfis.neural;
+
+final class Parameters {
+
+    final int numberOfRules;
+    final int dimension;
+    final int outputs;
+
+    final int centersOffset;
+    final int linearOffset;
+    final int linearStride;
+    final int outputStride;
+
+    final double[] values;
+
+    Parameters(int numberOfRules, int dimension) {
+        this(numberOfRules, dimension, 1);
+    }
+
+    Parameters(int numberOfRules, int dimension, int outputs) {
+        this.numberOfRules = numberOfRules;
+        this.dimension = dimension;
+        this.outputs = outputs;
+
+        int premiseCount = numberOfRules * dimension;
+        centersOffset = premiseCount;
+        linearOffset = 2 * premiseCount;
+        linearStride = dimension + 1;
+        outputStride = numberOfRules * linearStride;
+
+        values = new double[linearOffset + outputs * outputStride];
+    }
+
+    private Parameters(Parameters other) {
+        numberOfRules = other.numberOfRules;
+        dimension = other.dimension;
+        outputs = other.outputs;
+        centersOffset = other.centersOffset;
+        linearOffset = other.linearOffset;
+        linearStride = other.linearStride;
+        outputStride = other.outputStride;
+        values = other.values.clone();
+    }
+
+    Parameters copy() {
+        return new Parameters(this);
+    }
+
+    int size() {
+        return values.length;
+    }
+
+    double evaluate(double[] input) {
+        return evaluate(input, 0);
+    }
+
+    double evaluate(double[] input, int inputOffset) {
+        double prediction = 0.;
+        double weightsSum = 0.;
+        for (int i = 0; i < numberOfRules; i++) {
+            int slope = i * dimension;
+            int center = centersOffset + slope;
+
+            double weight = 1.;
+            for (int j = 0; j < dimension; j++) {
+                weight *= sigmoid(input[inputOffset + j], values[slope + j], values[center + j]);
+            }
+            double consequent = linear(input, inputOffset, values, linearOffset + i * linearStride, dimension);
+
+            prediction += weight * consequent;
+            weightsSum += weight;
+        }
+        return prediction / weightsSum;
+    }
+
+    double evaluate(double[] input, int inputOffset, double activationThreshold) {
+        double prediction = 0.;
+        double weightsSum = 0.;
+        for (int i = 0; i < numberOfRules; i++) {
+            int slope = i * dimension;
+            int center = centersOffset + slope;
+
+            double weight = 1.;
+            for (int j = 0; j < dimension && weight >= activationThreshold; j++) {
+                weight *= sigmoid(input[inputOffset + j], values[slope + j], values[center + j]);
+            }
+            if (weight < activationThreshold) continue;
+            double consequent = linear(input, inputOffset, values, linearOffset + i * linearStride, dimension);
+
+            prediction += weight * consequent;
+            weightsSum += weight;
+        }
+        if (weightsSum == 0.) return evaluate(input, inputOffset);
+        return prediction / weightsSum;
+    }
+
+    void evaluate(double[] input, int inputOffset, double[] out, int outOffset) {
+        evaluate(input, inputOffset, out, outOffset, 0.);
+    }
+
+    void evaluate(double[] input, int inputOffset, double[] out, int outOffset, double activationThreshold) {
+        for (int o = 0; o < outputs; o++) {
+            out[outOffset + o] = 0.;
+        }
+        double weightsSum = 0.;
+        for (int i = 0; i < numberOfRules; i++) {
+            int slope = i * dimension;
+            int center = centersOffset + slope;
+
+            double weight = 1.;
+            for (int j = 0; j < dimension && weight >= activationThreshold; j++) {
+                weight *= sigmoid(input[inputOffset + j], values[slope + j], values[center + j]);
+            }
+            if (weight < activationThreshold) continue;
+            for (int o = 0, linear = linearOffset + i * linearStride; o < outputs; o++, linear += outputStride) {
+                out[outOffset + o] += weight * linear(input, inputOffset, values, linear, dimension);
+            }
+            weightsSum += weight;
+        }
+        if (weightsSum == 0. && activationThreshold > 0.) {
+            evaluate(input, inputOffset, out, outOffset, 0.);
+            return;
+        }
+        for (int o = 0; o < outputs; o++) {
+            out[outOffset + o] /= weightsSum;
+        }
+    }
+
+    double firingStrengths(double[] input, int inputOffset, double[] weights) {
+        double weightsSum = 0.;
+        for (int i = 0; i < numberOfRules; i++) {
+            int slope = i * dimension;
+            int center = centersOffset + slope;
+
+            double weight = 1.;
+            for (int j = 0; j < dimension; j++) {
+                weight *= sigmoid(input[inputOffset + j], values[slope + j], values[center + j]);
+            }
+            weights[i] = weight;
+            weightsSum += weight;
+        }
+        return weightsSum;
+    }
+
+    Parameters retain(int[] rules) {
+        Parameters retained = new Parameters(rules.length, dimension, outputs);
+        for (int k = 0; k < rules.length; k++) {
+            int rule = rules[k];
+            System.arraycopy(values, rule * dimension, retained.values, k * dimension, dimension);
+            System.arraycopy(values, centersOffset + rule * dimension, retained.values, retained.centersOffset + k * dimension, dimension);
+            for (int o = 0; o < outputs; o++) {
+                System.arraycopy(values, linearOffset + o * outputStride + rule * linearStride,
+                        retained.values, retained.linearOffset + o * retained.outputStride + k * linearStride, linearStride);
+            }
+        }
+        return retained;
+    }
+
+    static double sigmoid(double input, double bi, double ai) {
+        return 1. / (1. + Math.exp(bi * (input - ai)));
+    }
+
+    static double linear(double[] input, int inputOffset, double[] coefficients, int offset, int dimension) {
+        double value = 0;
+        for (int i = 0; i < dimension; i++) {
+            value += input[inputOffset + i] * coefficients[offset + i];
+        }
+        value += coefficients[offset + dimension];
+        return value;
+    }
+
+    double slope(int rule, int input) {
+        return values[rule * dimension + input];
+    }
+
+    double center(int rule, int input) {
+        return values[centersOffset + rule * dimension + input];
+    }
+
+    double[][] premiseCoefficients() {
+        double[][] coef = new double[numberOfRules][2 * dimension];
+        for (int i = 0; i < numberOfRules; i++) {
+            for (int j = 0; j < dimension; j++) {
+                coef[i][2 * j] = slope(i, j);
+                coef[i][2 * j + 1] = center(i, j);
+            }
+        }
+        return coef;
+    }
+
+    double[][] linearCoefficients() {
+        double[][] linCoef = new double[numberOfRules][outputs * linearStride];
+        for (int i = 0; i < numberOfRules; i++) {
+            for (int o = 0; o < outputs; o++) {
+                System.arraycopy(values, linearOffset + o * outputStride + i * linearStride, linCoef[i], o * linearStride, linearStride);
+            }
+        }
+        return linCoef;
+    }
+}
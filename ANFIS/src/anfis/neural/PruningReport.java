@@ -0,0 +1,17 @@
+package anfis.neural;
+
+public record PruningReport(FrozenANFIS model,
+                            int originalRules,
+                            int retainedRules,
+                            double[] maximumActivations,
+                            double originalLoss,
+                            double prunedLoss,
+                            double originalNanosPerPrediction,
+                            double prunedNanosPerPrediction) {
+
+    @Override
+    public String toString() {
+        return String.format("Rules: %d -> %d | Loss: %s -> %s | Latency: %.1f -> %.1f ns/prediction",
+                originalRules, retainedRules, originalLoss, prunedLoss, originalNanosPerPrediction, prunedNanosPerPrediction);
+    }
+}
@@ -0,0 +1,169 @@
+package anfis.neural;
+
+import java.util.Arrays;
+
+final class ScalarEngine implements Engine {
+
+    @Override
+    public void forwardPass(Parameters parameters, double[] input, int offset, Workspace ws) {
+        double weightsSum = 0.;
+        double[] memberships = ws.memberships;
+        double[] weights = ws.weights;
+        double[] consequents = ws.consequents;
+        double[] predictions = ws.outputs;
+
+        double[] values = parameters.values;
+        int numberOfRules = parameters.numberOfRules;
+        int dimension = parameters.dimension;
+        int outputs = parameters.outputs;
+        int centersOffset = parameters.centersOffset;
+        int linearOffset = parameters.linearOffset;
+        int linearStride = parameters.linearStride;
+        int outputStride = parameters.outputStride;
+
+        for (int o = 0; o < outputs; o++) {
+            predictions[o] = 0.;
+        }
+        for (int i = 0; i < numberOfRules; i++) {
+            int slope = i * dimension;
+            int center = centersOffset + slope;
+
+            double weight = 1.;
+            for (int j = 0; j < dimension; j++) {
+                double membership = Parameters.sigmoid(input[offset + j], values[slope + j], values[center + j]);
+                memberships[slope + j] = membership;
+                weight *= membership;
+            }
+            for (int o = 0; o < outputs; o++) {
+                double consequent = Parameters.linear(input, offset, values, linearOffset + o * outputStride + i * linearStride, dimension);
+                predictions[o] += weight * consequent;
+                consequents[o * numberOfRules + i] = consequent;
+            }
+
+            weightsSum += weight;
+            weights[i] = weight;
+        }
+
+        ws.weightSum = weightsSum;
+
+        for (int o = 0; o < outputs; o++) {
+            predictions[o] /= weightsSum;
+        }
+    }
+
+    @Override
+    public void backwardPass(Parameters parameters, double[] input, int offset, Workspace ws) {
+        double[] gradient = ws.gradient;
+        double[] memberships = ws.memberships;
+        double[] consequents = ws.consequents;
+        double[] predictions = ws.outputs;
+        double[] errors = ws.errors;
+
+        double[] values = parameters.values;
+        int numberOfRules = parameters.numberOfRules;
+        int dimension = parameters.dimension;
+        int outputs = parameters.outputs;
+        int centersOffset = parameters.centersOffset;
+        int linearOffset = parameters.linearOffset;
+        int linearStride = parameters.linearStride;
+        int outputStride = parameters.outputStride;
+
+        double weightSum = ws.weightSum;
+        double weightSumSquared = weightSum * weightSum;
+
+        for (int i = 0; i < numberOfRules; i++) {
+            double weight = ws.weights[i];
+            int slope = i * dimension;
+            int center = centersOffset + slope;
+
+            double scale = 0.;
+            for (int o = 0; o < outputs; o++) {
+                double error = errors[o];
+                double consequent = consequents[o * numberOfRules + i];
+                double unscaledOutput = predictions[o] * weightSum;
+                double fraction = ((weightSum - weight) * consequent - (unscaledOutput - weight * consequent)) / weightSumSquared;
+                scale += error * fraction;
+
+                int linear = linearOffset + o * outputStride + i * linearStride;
+                double dLinCoefShared = error * (weight / weightSum);
+                for (int j = 0; j < dimension; j++) {
+                    gradient[linear + j] += dLinCoefShared * input[offset + j];
+                }
+                gradient[linear + dimension] += dLinCoefShared;
+            }
+
+            for (int j = 0; j < dimension; j++) {
+                double membership = memberships[slope + j];
+                double dCoefShared = scale * (weight / membership) * membership * (1 - membership);
+                gradient[slope + j] -= dCoefShared * (input[offset + j] - values[center + j]);
+                gradient[center + j] += dCoefShared * values[slope + j];
+            }
+        }
+    }
+
+    @Override
+    public void evaluate(Parameters parameters, Tile tile, int rows, double[] out, int outOffset) {
+        int numberOfRules = parameters.numberOfRules;
+        int dimension = parameters.dimension;
+        int outputs = parameters.outputs;
+        int centersOffset = parameters.centersOffset;
+        int linearOffset = parameters.linearOffset;
+        int linearStride = parameters.linearStride;
+        int outputStride = parameters.outputStride;
+        double[] values = parameters.values;
+
+        double[] columns = tile.columns;
+        double[] weights = tile.weights;
+        double[] weightsSums = tile.weightsSums;
+        double[] consequents = tile.consequents;
+        double[] predictions = tile.predictions;
+
+        for (int o = 0; o < outputs; o++) {
+            Arrays.fill(predictions, o * Tile.ROWS, o * Tile.ROWS + rows, 0.);
+        }
+        Arrays.fill(weightsSums, 0, rows, 0.);
+
+        for (int i = 0; i < numberOfRules; i++) {
+            int slope = i * dimension;
+            int center = centersOffset + slope;
+
+            Arrays.fill(weights, 0, rows, 1.);
+            for (int j = 0; j < dimension; j++) {
+                double bi = values[slope + j];
+                double ai = values[center + j];
+                int column = j * Tile.ROWS;
+                for (int r = 0; r < rows; r++) {
+                    weights[r] *= Parameters.sigmoid(columns[column + r], bi, ai);
+                }
+            }
+
+            for (int o = 0; o < outputs; o++) {
+                int linear = linearOffset + o * outputStride + i * linearStride;
+                int block = o * Tile.ROWS;
+                Arrays.fill(consequents, block, block + rows, 0.);
+                for (int j = 0; j < dimension; j++) {
+                    double coefficient = values[linear + j];
+                    int column = j * Tile.ROWS;
+                    for (int r = 0; r < rows; r++) {
+                        consequents[block + r] += columns[column + r] * coefficient;
+                    }
+                }
+                double bias = values[linear + dimension];
+                for (int r = 0; r < rows; r++) {
+                    predictions[block + r] += weights[r] * (consequents[block + r] + bias);
+                }
+            }
+
+            for (int r = 0; r < rows; r++) {
+                weightsSums[r] += weights[r];
+            }
+        }
+
+        for (int r = 0; r < rows; r++) {
+            int target = outOffset + r * outputs;
+            for (int o = 0; o < outputs; o++) {
+                out[target + o] = predictions[o * Tile.ROWS + r] / weightsSums[r];
+            }
+        }
+    }
+}
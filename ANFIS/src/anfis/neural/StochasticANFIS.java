@@ -1,12 +1,10 @@
 package anfis.neural;
 
 import anfis.ml.loss.LossFunction;
-import anfis.ml.sampling.Sample;
+import anfis.ml.sampling.Dataset;
 import anfis.ml.sampling.Sampling;
 import anfis.ml.stopping.StoppingCondition;
-import anfis.rand.SourceOfRandomness;
 
-import java.util.Collections;
 import java.util.List;
 
 public class StochasticANFIS extends ANFIS {
@@ -18,6 +16,9 @@ public class StochasticANFIS extends ANFIS {
 
     private final int batchSize;
 
+    private int workers = 1;
+    private int synchronizationInterval;
+
     public StochasticANFIS(int numberOfRules) {
         this(numberOfRules, DEFAULT_BATCH_SIZE);
     }
@@ -32,13 +33,41 @@ public class StochasticANFIS extends ANFIS {
         this.batchSize = batchSize;
     }
 
+    public int getWorkers() {
+        return workers;
+    }
+
+    public void setWorkers(int workers) {
+        if (workers < 1) throw new IllegalArgumentException("Workers must be positive, got: " + workers);
+        this.workers = workers;
+    }
+
+    public int getSynchronizationInterval() {
+        return synchronizationInterval;
+    }
+
+    public void setSynchronizationInterval(int synchronizationInterval) {
+        if (synchronizationInterval < 0) throw new IllegalArgumentException("Synchronization interval must be non-negative, got: " + synchronizationInterval);
+        this.synchronizationInterval = synchronizationInterval;
+    }
+
+    @Override
+    final int asynchronousWorkers() {
+        return workers;
+    }
+
+    @Override
+    final int synchronizationInterval() {
+        return synchronizationInterval;
+    }
+
     @Override
-    protected final void preprocess(List<Sample> samples) {
-        Collections.shuffle(samples, SourceOfRandomness.getSource());
+    protected final void preprocess(Dataset samples) {
+        samples.shuffle(getRandom());
     }
 
     @Override
-    protected final List<List<Sample>> partition(List<Sample> samples) {
+    protected final List<Dataset> partition(Dataset samples) {
         return (batchSize == 1) ? Sampling.singletons(samples) : Sampling.partition(samples, batchSize);
     }
 }
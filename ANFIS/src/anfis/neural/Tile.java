@@ -0,0 +1,62 @@
+package anfis.neural;
+
+import anfis.ml.sampling.Dataset;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+final class Tile {
+
+    static final int ROWS = 64;
+
+    final int dimension;
+    final int outputs;
+
+    final double[] columns;
+    final double[] weights;
+    final double[] weightsSums;
+    final double[] consequents;
+    final double[] predictions;
+
+    Tile(int dimension, int outputs) {
+        this.dimension = dimension;
+        this.outputs = outputs;
+        columns = new double[dimension * ROWS];
+        weights = new double[ROWS];
+        weightsSums = new double[ROWS];
+        consequents = new double[outputs * ROWS];
+        predictions = new double[outputs * ROWS];
+    }
+
+    void gather(double[] data, int offset, int stride, int rows) {
+        for (int r = 0; r < rows; r++) {
+            int row = offset + r * stride;
+            for (int j = 0; j < dimension; j++) {
+                columns[j * ROWS + r] = data[row + j];
+            }
+        }
+    }
+
+    void gather(Dataset samples, int first, int rows) {
+        double[] data = samples.data();
+        for (int r = 0; r < rows; r++) {
+            int row = samples.offset(first + r);
+            for (int j = 0; j < dimension; j++) {
+                columns[j * ROWS + r] = data[row + j];
+            }
+        }
+    }
+
+    static final class Cache {
+
+        private final AtomicReference<Tile> cached = new AtomicReference<>();
+
+        Tile acquire(int dimension, int outputs) {
+            Tile tile = cached.getAndSet(null);
+            return (tile != null && tile.dimension == dimension && tile.outputs == outputs) ? tile : new Tile(dimension, outputs);
+        }
+
+        void release(Tile tile) {
+            cached.set(tile);
+        }
+    }
+}
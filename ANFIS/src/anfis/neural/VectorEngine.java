@@ -0,0 +1,300 @@
+package anfis.neural;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+import java.util.Arrays;
+
+final class VectorEngine implements Engine {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public void forwardPass(Parameters parameters, double[] input, int offset, Workspace ws) {
+        int numberOfRules = parameters.numberOfRules;
+        int dimension = parameters.dimension;
+        int linearStride = parameters.linearStride;
+        double[] values = parameters.values;
+        double[] memberships = ws.memberships;
+        double[] weights = ws.weights;
+        double[] consequents = ws.consequents;
+        double[] tiledInput = ws.tiledInput;
+        double[] linearInput = ws.linearInput;
+        double[] products = ws.linearScratch;
+
+        for (int i = 0; i < numberOfRules; i++) {
+            System.arraycopy(input, offset, tiledInput, i * dimension, dimension);
+            System.arraycopy(input, offset, linearInput, i * linearStride, dimension);
+        }
+
+        memberships(values, parameters.centersOffset, tiledInput, memberships);
+
+        double weightsSum = 0.;
+        for (int i = 0; i < numberOfRules; i++) {
+            int slope = i * dimension;
+            double weight = 1.;
+            for (int j = 0; j < dimension; j++) {
+                weight *= memberships[slope + j];
+            }
+            weightsSum += weight;
+            weights[i] = weight;
+        }
+        ws.weightSum = weightsSum;
+
+        for (int o = 0, outputs = parameters.outputs; o < outputs; o++) {
+            multiply(values, parameters.linearOffset + o * parameters.outputStride, linearInput, products);
+
+            double prediction = 0.;
+            for (int i = 0; i < numberOfRules; i++) {
+                int linear = i * linearStride;
+                double consequent = 0.;
+                for (int j = 0; j < dimension; j++) {
+                    consequent += products[linear + j];
+                }
+                consequent += products[linear + dimension];
+
+                prediction += weights[i] * consequent;
+                consequents[o * numberOfRules + i] = consequent;
+            }
+            ws.outputs[o] = prediction / weightsSum;
+        }
+    }
+
+    private static void memberships(double[] values, int centersOffset, double[] input, double[] memberships) {
+        int length = memberships.length;
+        int bound = SPECIES.loopBound(length);
+        DoubleVector one = DoubleVector.broadcast(SPECIES, 1.);
+
+        int k = 0;
+        for (; k < bound; k += SPECIES.length()) {
+            DoubleVector slope = DoubleVector.fromArray(SPECIES, values, k);
+            DoubleVector center = DoubleVector.fromArray(SPECIES, values, centersOffset + k);
+            DoubleVector x = DoubleVector.fromArray(SPECIES, input, k);
+            DoubleVector exp = slope.mul(x.sub(center)).lanewise(VectorOperators.EXP);
+            one.div(one.add(exp)).intoArray(memberships, k);
+        }
+        for (; k < length; k++) {
+            memberships[k] = Parameters.sigmoid(input[k], values[k], values[centersOffset + k]);
+        }
+    }
+
+    private static void multiply(double[] values, int valuesOffset, double[] input, double[] products) {
+        int length = products.length;
+        int bound = SPECIES.loopBound(length);
+
+        int k = 0;
+        for (; k < bound; k += SPECIES.length()) {
+            DoubleVector x = DoubleVector.fromArray(SPECIES, input, k);
+            x.mul(DoubleVector.fromArray(SPECIES, values, valuesOffset + k)).intoArray(products, k);
+        }
+        for (; k < length; k++) {
+            products[k] = input[k] * values[valuesOffset + k];
+        }
+    }
+
+    @Override
+    public void backwardPass(Parameters parameters, double[] input, int offset, Workspace ws) {
+        int numberOfRules = parameters.numberOfRules;
+        int dimension = parameters.dimension;
+        int outputs = parameters.outputs;
+        int linearStride = parameters.linearStride;
+        double[] weights = ws.weights;
+        double[] consequents = ws.consequents;
+        double[] errors = ws.errors;
+        double[] ruleScale = ws.ruleScale;
+        double[] ruleWeight = ws.ruleWeight;
+        double[] linearScale = ws.linearScratch;
+
+        double weightSum = ws.weightSum;
+        double weightSumSquared = weightSum * weightSum;
+
+        for (int i = 0; i < numberOfRules; i++) {
+            double weight = weights[i];
+
+            double scale = 0.;
+            for (int o = 0; o < outputs; o++) {
+                double consequent = consequents[o * numberOfRules + i];
+                double unscaledOutput = ws.outputs[o] * weightSum;
+                double fraction = ((weightSum - weight) * consequent - (unscaledOutput - weight * consequent)) / weightSumSquared;
+                scale += errors[o] * fraction;
+            }
+            int slope = i * dimension;
+            Arrays.fill(ruleScale, slope, slope + dimension, scale);
+            Arrays.fill(ruleWeight, slope, slope + dimension, weight);
+        }
+
+        premiseGradient(parameters, ws);
+
+        for (int o = 0; o < outputs; o++) {
+            double error = errors[o];
+            for (int i = 0; i < numberOfRules; i++) {
+                int linear = i * linearStride;
+                Arrays.fill(linearScale, linear, linear + linearStride, error * (weights[i] / weightSum));
+            }
+            linearGradient(ws.gradient, parameters.linearOffset + o * parameters.outputStride, linearScale, ws.linearInput);
+        }
+    }
+
+    private static void premiseGradient(Parameters parameters, Workspace ws) {
+        double[] values = parameters.values;
+        int centersOffset = parameters.centersOffset;
+        double[] gradient = ws.gradient;
+        double[] memberships = ws.memberships;
+        double[] input = ws.tiledInput;
+        double[] ruleScale = ws.ruleScale;
+        double[] ruleWeight = ws.ruleWeight;
+
+        int length = memberships.length;
+        int bound = SPECIES.loopBound(length);
+        DoubleVector one = DoubleVector.broadcast(SPECIES, 1.);
+
+        int k = 0;
+        for (; k < bound; k += SPECIES.length()) {
+            DoubleVector membership = DoubleVector.fromArray(SPECIES, memberships, k);
+            DoubleVector weight = DoubleVector.fromArray(SPECIES, ruleWeight, k);
+            DoubleVector dCoefShared = DoubleVector.fromArray(SPECIES, ruleScale, k)
+                    .mul(weight.div(membership))
+                    .mul(membership)
+                    .mul(one.sub(membership));
+
+            DoubleVector slope = DoubleVector.fromArray(SPECIES, values, k);
+            DoubleVector center = DoubleVector.fromArray(SPECIES, values, centersOffset + k);
+            DoubleVector x = DoubleVector.fromArray(SPECIES, input, k);
+
+            DoubleVector.fromArray(SPECIES, gradient, k)
+                    .sub(dCoefShared.mul(x.sub(center)))
+                    .intoArray(gradient, k);
+            DoubleVector.fromArray(SPECIES, gradient, centersOffset + k)
+                    .add(dCoefShared.mul(slope))
+                    .intoArray(gradient, centersOffset + k);
+        }
+        for (; k < length; k++) {
+            double membership = memberships[k];
+            double dCoefShared = ruleScale[k] * (ruleWeight[k] / membership) * membership * (1 - membership);
+            gradient[k] -= dCoefShared * (input[k] - values[centersOffset + k]);
+            gradient[centersOffset + k] += dCoefShared * values[k];
+        }
+    }
+
+    private static void linearGradient(double[] gradient, int linearOffset, double[] scale, double[] input) {
+        int length = scale.length;
+        int bound = SPECIES.loopBound(length);
+
+        int k = 0;
+        for (; k < bound; k += SPECIES.length()) {
+            DoubleVector.fromArray(SPECIES, gradient, linearOffset + k)
+                    .add(DoubleVector.fromArray(SPECIES, scale, k).mul(DoubleVector.fromArray(SPECIES, input, k)))
+                    .intoArray(gradient, linearOffset + k);
+        }
+        for (; k < length; k++) {
+            gradient[linearOffset + k] += scale[k] * input[k];
+        }
+    }
+
+    @Override
+    public void evaluate(Parameters parameters, Tile tile, int rows, double[] out, int outOffset) {
+        int numberOfRules = parameters.numberOfRules;
+        int dimension = parameters.dimension;
+        int outputs = parameters.outputs;
+        int centersOffset = parameters.centersOffset;
+        int linearOffset = parameters.linearOffset;
+        int linearStride = parameters.linearStride;
+        int outputStride = parameters.outputStride;
+        double[] values = parameters.values;
+
+        double[] columns = tile.columns;
+        double[] weights = tile.weights;
+        double[] weightsSums = tile.weightsSums;
+        double[] consequents = tile.consequents;
+        double[] predictions = tile.predictions;
+        DoubleVector one = DoubleVector.broadcast(SPECIES, 1.);
+        int bound = SPECIES.loopBound(rows);
+
+        Arrays.fill(predictions, 0.);
+        Arrays.fill(weightsSums, 0, rows, 0.);
+
+        for (int i = 0; i < numberOfRules; i++) {
+            int slope = i * dimension;
+            int center = centersOffset + slope;
+            int linear = linearOffset + i * linearStride;
+
+            Arrays.fill(weights, 0, rows, 1.);
+            Arrays.fill(consequents, 0.);
+            for (int j = 0; j < dimension; j++) {
+                double bi = values[slope + j];
+                double ai = values[center + j];
+                int column = j * Tile.ROWS;
+
+                int r = 0;
+                for (; r < bound; r += SPECIES.length()) {
+                    DoubleVector input = DoubleVector.fromArray(SPECIES, columns, column + r);
+                    DoubleVector exp = input.sub(ai).mul(bi).lanewise(VectorOperators.EXP);
+                    DoubleVector.fromArray(SPECIES, weights, r).mul(one.div(one.add(exp))).intoArray(weights, r);
+                }
+                for (; r < rows; r++) {
+                    weights[r] *= Parameters.sigmoid(columns[column + r], bi, ai);
+                }
+
+                for (int o = 0; o < outputs; o++) {
+                    double coefficient = values[linear + o * outputStride + j];
+                    int block = o * Tile.ROWS;
+                    r = 0;
+                    for (; r < bound; r += SPECIES.length()) {
+                        DoubleVector input = DoubleVector.fromArray(SPECIES, columns, column + r);
+                        DoubleVector.fromArray(SPECIES, consequents, block + r).add(input.mul(coefficient)).intoArray(consequents, block + r);
+                    }
+                    for (; r < rows; r++) {
+                        consequents[block + r] += columns[column + r] * coefficient;
+                    }
+                }
+            }
+
+            int r = 0;
+            for (; r < bound; r += SPECIES.length()) {
+                DoubleVector.fromArray(SPECIES, weightsSums, r).add(DoubleVector.fromArray(SPECIES, weights, r)).intoArray(weightsSums, r);
+            }
+            for (; r < rows; r++) {
+                weightsSums[r] += weights[r];
+            }
+
+            for (int o = 0; o < outputs; o++) {
+                double bias = values[linear + o * outputStride + dimension];
+                int block = o * Tile.ROWS;
+                r = 0;
+                for (; r < bound; r += SPECIES.length()) {
+                    DoubleVector weight = DoubleVector.fromArray(SPECIES, weights, r);
+                    DoubleVector consequent = DoubleVector.fromArray(SPECIES, consequents, block + r).add(bias);
+                    DoubleVector.fromArray(SPECIES, predictions, block + r).add(weight.mul(consequent)).intoArray(predictions, block + r);
+                }
+                for (; r < rows; r++) {
+                    predictions[block + r] += weights[r] * (consequents[block + r] + bias);
+                }
+            }
+        }
+
+        if (outputs == 1) {
+            int r = 0;
+            for (; r < bound; r += SPECIES.length()) {
+                DoubleVector.fromArray(SPECIES, predictions, r)
+                        .div(DoubleVector.fromArray(SPECIES, weightsSums, r))
+                        .intoArray(out, outOffset + r);
+            }
+            for (; r < rows; r++) {
+                out[outOffset + r] = predictions[r] / weightsSums[r];
+            }
+        } else {
+            for (int r = 0; r < rows; r++) {
+                int target = outOffset + r * outputs;
+                for (int o = 0; o < outputs; o++) {
+                    out[target + o] = predictions[o * Tile.ROWS + r] / weightsSums[r];
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+}
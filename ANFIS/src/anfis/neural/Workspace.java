@@ -0,0 +1,63 @@
+package anfis.neural;
+
+import anfis.ml.loss.LossAccumulator;
+
+import java.util.Arrays;
+
+final class Workspace {
+
+    final double[] memberships;
+    final double[] weights;
+    final double[] consequents;
+    double weightSum = Double.NaN;
+
+    final double[] outputs;
+    final double[] errors;
+
+    final double[] gradient;
+
+    final LossAccumulator loss;
+
+    final double[] tiledInput;
+    final double[] linearInput;
+    final double[] linearScratch;
+    final double[] ruleScale;
+    final double[] ruleWeight;
+
+    Workspace(Parameters parameters, LossAccumulator loss, boolean vectorized) {
+        int numberOfRules = parameters.numberOfRules;
+        int premiseCount = numberOfRules * parameters.dimension;
+        memberships = new double[premiseCount];
+        weights = new double[numberOfRules];
+        consequents = new double[numberOfRules * parameters.outputs];
+
+        outputs = new double[parameters.outputs];
+        errors = new double[parameters.outputs];
+
+        gradient = new double[parameters.size()];
+
+        this.loss = loss;
+
+        if (vectorized) {
+            int linearCount = numberOfRules * parameters.linearStride;
+            tiledInput = new double[premiseCount];
+            linearInput = new double[linearCount];
+            linearScratch = new double[linearCount];
+            ruleScale = new double[premiseCount];
+            ruleWeight = new double[premiseCount];
+            for (int i = 1; i <= numberOfRules; i++) {
+                linearInput[i * parameters.linearStride - 1] = 1.;
+            }
+        } else {
+            tiledInput = null;
+            linearInput = null;
+            linearScratch = null;
+            ruleScale = null;
+            ruleWeight = null;
+        }
+    }
+
+    void clearGradient() {
+        Arrays.fill(gradient, 0.);
+    }
+}
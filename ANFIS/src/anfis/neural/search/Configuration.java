@@ -0,0 +1,10 @@
+package anfis.neural.search;
+
+public record Configuration(int numberOfRules, double eta1, double eta2) {
+
+    public Configuration {
+        if (numberOfRules <= 0) throw new IllegalArgumentException("Number of rules must be positive, got: " + numberOfRules);
+        if (!(eta1 >= 0.)) throw new IllegalArgumentException("Eta1 must not be negative, got: " + eta1);
+        if (!(eta2 >= 0.)) throw new IllegalArgumentException("Eta2 must not be negative, got: " + eta2);
+    }
+}
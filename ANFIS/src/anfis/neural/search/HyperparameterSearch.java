@@ -0,0 +1,243 @@
+package anfis.neural.search;
+
+import anfis.ml.exceptions.CriticalDivergenceException;
+import anfis.ml.exceptions.InvalidDatasetException;
+import anfis.ml.metrics.MetricsRegistry;
+import anfis.ml.observers.IterationStatistics;
+import anfis.ml.sampling.Dataset;
+import anfis.ml.stopping.StoppingCondition;
+import anfis.ml.stopping.StoppingConditions;
+import anfis.neural.ANFIS;
+import anfis.rand.SourceOfRandomness;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.random.RandomGenerator;
+
+public final class HyperparameterSearch {
+
+    private static final int DEFAULT_EPOCHS = 1000;
+
+    private static final Comparator<Candidate> RANKING = Comparator
+            .comparing((Candidate candidate) -> candidate.error == Double.POSITIVE_INFINITY)
+            .thenComparing(Comparator.comparingInt((Candidate candidate) -> candidate.trained).reversed())
+            .thenComparingDouble(candidate -> candidate.error);
+
+    private final ModelFactory factory;
+    private final SearchSpace space;
+
+    private int restarts = 1;
+    private int epochs = DEFAULT_EPOCHS;
+    private int minimumEpochs;
+    private int reductionFactor;
+    private long seed = SourceOfRandomness.split().nextLong();
+    private Dataset validation;
+    private ExecutorService executor = ForkJoinPool.commonPool();
+
+    public HyperparameterSearch(ModelFactory factory, SearchSpace space) {
+        this.factory = Objects.requireNonNull(factory);
+        this.space = Objects.requireNonNull(space);
+    }
+
+    public int getRestarts() {
+        return restarts;
+    }
+
+    public void setRestarts(int restarts) {
+        if (restarts <= 0) throw new IllegalArgumentException("Restarts must be positive, got: " + restarts);
+        this.restarts = restarts;
+    }
+
+    public int getEpochs() {
+        return epochs;
+    }
+
+    public void setEpochs(int epochs) {
+        if (epochs <= 0) throw new IllegalArgumentException("Epochs must be positive, got: " + epochs);
+        this.epochs = epochs;
+    }
+
+    public void setSuccessiveHalving(int minimumEpochs, int reductionFactor) {
+        if (minimumEpochs <= 0) throw new IllegalArgumentException("Minimum epochs must be positive, got: " + minimumEpochs);
+        if (reductionFactor < 2) throw new IllegalArgumentException("Reduction factor must be at least 2, got: " + reductionFactor);
+        this.minimumEpochs = minimumEpochs;
+        this.reductionFactor = reductionFactor;
+    }
+
+    public void disableSuccessiveHalving() {
+        minimumEpochs = 0;
+        reductionFactor = 0;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public void setValidation(Dataset validation) {
+        if (validation != null && validation.isEmpty()) throw new InvalidDatasetException();
+        this.validation = validation;
+    }
+
+    public void setExecutor(ExecutorService executor) {
+        this.executor = Objects.requireNonNull(executor);
+    }
+
+    public SearchResult search(Dataset samples) {
+        if (samples.isEmpty()) throw new InvalidDatasetException();
+        Dataset scoring = (validation != null) ? validation : samples;
+
+        RandomGenerator random = SourceOfRandomness.create(seed);
+        List<Configuration> configurations = space.configurations(random);
+        if (configurations.isEmpty()) throw new IllegalArgumentException("Search space is empty");
+
+        List<Candidate> candidates = new ArrayList<>(configurations.size() * restarts);
+        for (Configuration configuration : configurations) {
+            for (int k = 0; k < restarts; k++) {
+                candidates.add(new Candidate(configuration, random.nextLong()));
+            }
+        }
+
+        boolean halving = minimumEpochs > 0;
+        int budget = halving ? Math.min(minimumEpochs, epochs) : epochs;
+        List<Candidate> survivors = candidates;
+        while (true) {
+            train(survivors, samples, scoring, budget);
+            if (!halving || budget >= epochs) break;
+
+            survivors.sort(RANKING);
+            int keep = (survivors.size() + reductionFactor - 1) / reductionFactor;
+            while (keep > 1 && survivors.get(keep - 1).error == Double.POSITIVE_INFINITY) keep--;
+            survivors = new ArrayList<>(survivors.subList(0, keep));
+            budget = (keep == 1) ? epochs : (int) Math.min((long) budget * reductionFactor, epochs);
+        }
+
+        candidates.sort(RANKING);
+        Candidate best = candidates.get(0);
+        if (best.error == Double.POSITIVE_INFINITY) throw new CriticalDivergenceException(best.model.getClass());
+
+        List<Trial> leaderboard = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            candidate.model.setStoppingCondition(candidate.stoppingCondition);
+            leaderboard.add(new Trial(candidate.configuration, candidate.seed, candidate.epochs, candidate.error));
+        }
+        return new SearchResult(best.model, leaderboard);
+    }
+
+    private void train(List<Candidate> candidates, Dataset samples, Dataset scoring, int budget) {
+        List<Callable<Void>> tasks = new ArrayList<>(candidates.size());
+        for (Candidate candidate : candidates) {
+            tasks.add(() -> {
+                candidate.train(samples, scoring, budget);
+                return null;
+            });
+        }
+
+        try {
+            for (Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while searching", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private final class Candidate {
+
+        final Configuration configuration;
+        final long seed;
+
+        ANFIS model;
+        Dataset view;
+        StoppingCondition stoppingCondition;
+        int trained;
+        int epochs;
+        double error = Double.POSITIVE_INFINITY;
+
+        Candidate(Configuration configuration, long seed) {
+            this.configuration = configuration;
+            this.seed = seed;
+        }
+
+        void train(Dataset samples, Dataset scoring, int budget) {
+            if (model == null) {
+                model = factory.create(configuration);
+                model.setSeed(seed);
+                model.addObserver(statistics -> epochs++);
+                view = samples.view();
+                stoppingCondition = model.getStoppingCondition();
+                stoppingCondition.reset();
+            }
+
+            int completed = trained;
+            StoppingCondition rung = StoppingConditions.maxIter(budget - completed - 1);
+            model.setStoppingCondition(statistics -> rung.isMet(statistics) || stoppingCondition.isMet(offset(statistics, completed)));
+            trained = budget;
+            try {
+                model.partialFit(view);
+                double score = model.getLossFunction().score(model, scoring);
+                error = Double.isNaN(score) ? Double.POSITIVE_INFINITY : score;
+            } catch (CriticalDivergenceException e) {
+                error = Double.POSITIVE_INFINITY;
+            }
+        }
+    }
+
+    private static IterationStatistics offset(IterationStatistics statistics, int epochs) {
+        return new IterationStatistics() {
+            @Override
+            public double getError() {
+                return statistics.getError();
+            }
+
+            @Override
+            public int getIteration() {
+                return epochs + statistics.getIteration();
+            }
+
+            @Override
+            public double getErrorBound() {
+                return statistics.getErrorBound();
+            }
+
+            @Override
+            public int getErrorIteration() {
+                return epochs + statistics.getErrorIteration();
+            }
+
+            @Override
+            public boolean isExact() {
+                return statistics.isExact();
+            }
+
+            @Override
+            public boolean isEvaluated() {
+                return statistics.isEvaluated();
+            }
+
+            @Override
+            public double getExactError() {
+                return statistics.getExactError();
+            }
+
+            @Override
+            public MetricsRegistry getMetrics() {
+                return statistics.getMetrics();
+            }
+        };
+    }
+}
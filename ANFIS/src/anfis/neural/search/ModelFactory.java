@@ -0,0 +1,9 @@
+package anfis.neural.search;
+
+import anfis.neural.ANFIS;
+
+@FunctionalInterface
+public interface ModelFactory {
+
+    ANFIS create(Configuration configuration);
+}
@@ -0,0 +1,28 @@
+package anfis.neural.search;
+
+import anfis.neural.ANFIS;
+
+import java.util.List;
+
+public final class SearchResult {
+
+    private final ANFIS bestModel;
+    private final List<Trial> leaderboard;
+
+    SearchResult(ANFIS bestModel, List<Trial> leaderboard) {
+        this.bestModel = bestModel;
+        this.leaderboard = List.copyOf(leaderboard);
+    }
+
+    public ANFIS getBestModel() {
+        return bestModel;
+    }
+
+    public Trial getBestTrial() {
+        return leaderboard.get(0);
+    }
+
+    public List<Trial> getLeaderboard() {
+        return leaderboard;
+    }
+}
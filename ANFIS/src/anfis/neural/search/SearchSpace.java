@@ -0,0 +1,10 @@
+package anfis.neural.search;
+
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+@FunctionalInterface
+public interface SearchSpace {
+
+    List<Configuration> configurations(RandomGenerator random);
+}
@@ -0,0 +1,53 @@
+package anfis.neural.search;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class SearchSpaces {
+
+    private SearchSpaces() {
+    }
+
+    public static SearchSpace of(Configuration... configurations) {
+        List<Configuration> list = List.of(configurations);
+        return random -> list;
+    }
+
+    public static SearchSpace grid(int[] numbersOfRules, double[] eta1, double[] eta2) {
+        List<Configuration> configurations = new ArrayList<>(numbersOfRules.length * eta1.length * eta2.length);
+        for (int numberOfRules : numbersOfRules) {
+            for (double first : eta1) {
+                for (double second : eta2) {
+                    configurations.add(new Configuration(numberOfRules, first, second));
+                }
+            }
+        }
+        List<Configuration> grid = List.copyOf(configurations);
+        return random -> grid;
+    }
+
+    public static SearchSpace random(int count, int minRules, int maxRules, double minEta1, double maxEta1, double minEta2, double maxEta2) {
+        if (count <= 0) throw new IllegalArgumentException("Count must be positive, got: " + count);
+        if (minRules <= 0 || maxRules < minRules) throw new IllegalArgumentException("Invalid rule range: [" + minRules + ", " + maxRules + "]");
+        checkRange("Eta1", minEta1, maxEta1);
+        checkRange("Eta2", minEta2, maxEta2);
+        return random -> {
+            List<Configuration> configurations = new ArrayList<>(count);
+            for (int k = 0; k < count; k++) {
+                int numberOfRules = minRules + random.nextInt(maxRules - minRules + 1);
+                double eta1 = logUniform(minEta1, maxEta1, random.nextDouble());
+                double eta2 = logUniform(minEta2, maxEta2, random.nextDouble());
+                configurations.add(new Configuration(numberOfRules, eta1, eta2));
+            }
+            return configurations;
+        };
+    }
+
+    private static double logUniform(double min, double max, double u) {
+        return min * Math.pow(max / min, u);
+    }
+
+    private static void checkRange(String name, double min, double max) {
+        if (!(min > 0.) || !(max >= min)) throw new IllegalArgumentException(name + " range must be positive and ordered, got: [" + min + ", " + max + "]");
+    }
+}
@@ -0,0 +1,4 @@
+package anfis.neural.search;
+
+public record Trial(Configuration configuration, long seed, int epochs, double error) {
+}
@@ -1,12 +1,31 @@
 package anfis.rand;
 
-import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator.SplittableGenerator;
 
-public class SourceOfRandomness {
+public final class SourceOfRandomness {
 
-    private static final Random random = new Random(System.nanoTime());
+    private static final String SEED_PROPERTY = "anfis.seed";
 
-    public static Random getSource() {
-        return random;
+    private static SplittableGenerator root = create(initialSeed());
+
+    private SourceOfRandomness() {
+    }
+
+    public static SplittableGenerator create(long seed) {
+        return new SplittableRandom(seed);
+    }
+
+    public static synchronized SplittableGenerator split() {
+        return root.split();
+    }
+
+    public static synchronized void setSeed(long seed) {
+        root = create(seed);
+    }
+
+    private static long initialSeed() {
+        String seed = System.getProperty(SEED_PROPERTY);
+        return (seed != null) ? Long.parseLong(seed) : System.nanoTime();
     }
 }
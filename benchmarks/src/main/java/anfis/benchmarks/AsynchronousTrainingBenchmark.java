@@ -0,0 +1,73 @@
+package anfis.benchmarks;
+
+import anfis.ml.loss.LossFunctions;
+import anfis.ml.sampling.Dataset;
+import anfis.ml.stopping.StoppingConditions;
+import anfis.neural.StochasticANFIS;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class AsynchronousTrainingBenchmark {
+
+    private static final double ETA = 1e-6;
+    private static final int SIZE = 16384;
+
+    @Param({"9"})
+    public int numberOfRules;
+
+    @Param({"2"})
+    public int dimension;
+
+    @Param({"1", "8"})
+    public int batchSize;
+
+    @Param({"1", "2", "4", "8"})
+    public int workers;
+
+    @Param({"0", "16"})
+    public int synchronizationInterval;
+
+    @Param({"false"})
+    public boolean vectorized;
+
+    private Dataset samples;
+    private StochasticANFIS model;
+    private ExecutorService executor;
+
+    @Setup(Level.Trial)
+    public void setupExecutor() {
+        executor = Executors.newFixedThreadPool(workers);
+    }
+
+    @TearDown(Level.Trial)
+    public void shutdownExecutor() {
+        executor.shutdown();
+    }
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        samples = Datasets.synthetic(SIZE, dimension, 42);
+        model = new StochasticANFIS(numberOfRules, ETA, ETA, LossFunctions.MSE(), StoppingConditions.maxIter(0), batchSize);
+        model.setWorkers(workers);
+        model.setSynchronizationInterval(synchronizationInterval);
+        model.setExecutor(executor);
+        model.setVectorized(vectorized);
+        model.fit(samples);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SIZE)
+    public StochasticANFIS epoch() {
+        model.partialFit(samples);
+        return model;
+    }
+}
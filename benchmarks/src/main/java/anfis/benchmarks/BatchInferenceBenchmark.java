@@ -0,0 +1,64 @@
+package anfis.benchmarks;
+
+import anfis.ml.loss.LossFunctions;
+import anfis.ml.sampling.Dataset;
+import anfis.ml.stopping.StoppingConditions;
+import anfis.neural.FrozenANFIS;
+import anfis.neural.StochasticANFIS;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class BatchInferenceBenchmark {
+
+    private static final int SAMPLES = 65536;
+
+    @Param({"4", "16", "64"})
+    public int numberOfRules;
+
+    @Param({"2", "8", "32"})
+    public int dimension;
+
+    @Param({"1"})
+    public int outputs;
+
+    @Param({"false", "true"})
+    public boolean vectorized;
+
+    private FrozenANFIS model;
+    private Dataset samples;
+    private double[] out;
+
+    @Setup
+    public void setup() {
+        samples = Datasets.synthetic(SAMPLES, dimension, outputs, 42);
+        var anfis = new StochasticANFIS(numberOfRules, 1e-4, 1e-4, LossFunctions.MSE(), StoppingConditions.maxIter(0), 1);
+        anfis.setVectorized(vectorized);
+        anfis.fit(samples.copy());
+        model = anfis.freeze();
+        out = new double[SAMPLES * outputs];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public double[] predictBatch() {
+        model.predictInto(samples, out);
+        return out;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(SAMPLES)
+    public double[] predictRows() {
+        double[] data = samples.data();
+        for (int row = 0; row < SAMPLES; row++) {
+            System.arraycopy(model.predict(data, samples.offset(row), dimension), 0, out, row * outputs, outputs);
+        }
+        return out;
+    }
+}
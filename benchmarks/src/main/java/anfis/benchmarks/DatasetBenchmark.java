@@ -0,0 +1,91 @@
+package anfis.benchmarks;
+
+import anfis.ml.sampling.Dataset;
+import anfis.ml.sampling.MappedDataset;
+import anfis.ml.sampling.Sample;
+import anfis.ml.sampling.Sampling;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class DatasetBenchmark {
+
+    @Param({"100000"})
+    public int size;
+
+    @Param({"8"})
+    public int dimension;
+
+    @Param({"32"})
+    public int partitionSize;
+
+    private Path directory;
+    private String textFile;
+    private String binaryFile;
+
+    private Dataset samples;
+    private List<Sample> sampleList;
+
+    @Setup
+    public void setup() throws IOException {
+        samples = Datasets.synthetic(size, dimension, 42);
+        sampleList = new ArrayList<>(samples.samples());
+
+        directory = Files.createTempDirectory("anfis-benchmark");
+        textFile = directory.resolve("samples.txt").toString();
+        binaryFile = directory.resolve("samples.bin").toString();
+        Sampling.write(sampleList, textFile);
+        Sampling.writeBinary(samples, binaryFile);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(Path.of(textFile));
+        Files.deleteIfExists(Path.of(binaryFile));
+        Files.deleteIfExists(directory);
+    }
+
+    @Benchmark
+    public List<Sample> loadSamples() throws IOException {
+        return Sampling.load(textFile);
+    }
+
+    @Benchmark
+    public Dataset loadDataset() throws IOException {
+        return Sampling.loadDataset(textFile);
+    }
+
+    @Benchmark
+    public Dataset loadBinary() throws IOException {
+        MappedDataset mapped = Sampling.map(binaryFile);
+        return mapped.load();
+    }
+
+    @Benchmark
+    public void partitionSamples(Blackhole blackhole) {
+        for (List<Sample> batch : Sampling.partition(sampleList, partitionSize)) {
+            for (Sample sample : batch) {
+                blackhole.consume(sample);
+            }
+        }
+    }
+
+    @Benchmark
+    public void partitionDataset(Blackhole blackhole) {
+        for (Dataset batch : Sampling.partition(samples, partitionSize)) {
+            blackhole.consume(batch.size());
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package anfis.benchmarks;
+
+import anfis.ml.sampling.Dataset;
+
+import java.util.Random;
+
+final class Datasets {
+
+    private Datasets() {
+    }
+
+    static Dataset synthetic(int size, int dimension, long seed) {
+        return synthetic(size, dimension, 1, seed);
+    }
+
+    static Dataset synthetic(int size, int dimension, int outputs, long seed) {
+        Random random = new Random(seed);
+        Dataset dataset = Dataset.allocate(size, dimension, outputs);
+        double[] data = dataset.data();
+        for (int row = 0; row < size; row++) {
+            int offset = dataset.offset(row);
+            for (int j = 0; j < dimension; j++) {
+                data[offset + j] = -4. + 8. * random.nextDouble();
+            }
+            for (int o = 0; o < outputs; o++) {
+                double target = 0.;
+                for (int j = 0; j < dimension; j++) {
+                    target += Math.sin((o + 1) * data[offset + j]);
+                }
+                data[offset + dimension + o] = target;
+            }
+        }
+        return dataset;
+    }
+}
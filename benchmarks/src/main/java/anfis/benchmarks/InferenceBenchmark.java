@@ -0,0 +1,115 @@
+package anfis.benchmarks;
+
+import anfis.ml.loss.LossFunctions;
+import anfis.ml.sampling.Dataset;
+import anfis.ml.stopping.StoppingConditions;
+import anfis.neural.FrozenANFIS;
+import anfis.neural.StochasticANFIS;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class InferenceBenchmark {
+
+    private static final int SAMPLES = 1024;
+
+    @Param({"4", "16", "64"})
+    public int numberOfRules;
+
+    @Param({"2", "8", "32"})
+    public int dimension;
+
+    @Param({"0.001"})
+    public double activationThreshold;
+
+    private StochasticANFIS model;
+    private FrozenANFIS frozen;
+    private FrozenANFIS thresholded;
+    private double[][] inputs;
+
+    @Setup
+    public void setup() {
+        Dataset samples = Datasets.synthetic(SAMPLES, dimension, 42);
+        model = new StochasticANFIS(numberOfRules, 1e-4, 1e-4, LossFunctions.MSE(), StoppingConditions.maxIter(0), 1);
+        model.fit(samples);
+        frozen = model.freeze();
+        thresholded = frozen.withActivationThreshold(activationThreshold);
+
+        inputs = new double[SAMPLES][];
+        for (int row = 0; row < SAMPLES; row++) {
+            inputs[row] = samples.x(row);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+
+        private final double[] out = new double[1];
+        private int next;
+
+        double[] next(double[][] inputs) {
+            double[] input = inputs[next];
+            next = next + 1 == inputs.length ? 0 : next + 1;
+            return input;
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public double[] predictLatency(Cursor cursor) {
+        return frozen.predict(cursor.next(inputs));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public double predictScalarLatency(Cursor cursor) {
+        return frozen.predictScalar(cursor.next(inputs));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public double thresholdedPredictLatency(Cursor cursor) {
+        return thresholded.predictScalar(cursor.next(inputs));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.AverageTime)
+    @OutputTimeUnit(TimeUnit.NANOSECONDS)
+    public double[] trainableModelPredictLatency(Cursor cursor) {
+        return model.predict(cursor.next(inputs));
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(SAMPLES)
+    @Threads(1)
+    public void predictThroughputSingleThread(Cursor cursor, Blackhole blackhole) {
+        predictAll(cursor, blackhole);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.SECONDS)
+    @OperationsPerInvocation(SAMPLES)
+    @Threads(Threads.MAX)
+    public void predictThroughput(Cursor cursor, Blackhole blackhole) {
+        predictAll(cursor, blackhole);
+    }
+
+    private void predictAll(Cursor cursor, Blackhole blackhole) {
+        double[] out = cursor.out;
+        for (double[] input : inputs) {
+            frozen.predictInto(input, out);
+            blackhole.consume(out[0]);
+        }
+    }
+}
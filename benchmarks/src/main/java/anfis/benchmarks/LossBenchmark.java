@@ -0,0 +1,69 @@
+package anfis.benchmarks;
+
+import anfis.ml.loss.DecomposableLossFunction;
+import anfis.ml.loss.LossFunctions;
+import anfis.ml.sampling.Dataset;
+import anfis.ml.sampling.Sample;
+import anfis.ml.stopping.StoppingConditions;
+import anfis.neural.FrozenANFIS;
+import anfis.neural.StochasticANFIS;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class LossBenchmark {
+
+    @Param({"1024", "65536"})
+    public int size;
+
+    @Param({"9"})
+    public int numberOfRules;
+
+    @Param({"2"})
+    public int dimension;
+
+    private final DecomposableLossFunction mse = LossFunctions.MSE();
+    private final DecomposableLossFunction parallelMSE = LossFunctions.parallel(LossFunctions.MSE());
+
+    private FrozenANFIS model;
+    private Dataset samples;
+    private List<Sample> sampleList;
+
+    @Setup
+    public void setup() {
+        samples = Datasets.synthetic(size, dimension, 42);
+        sampleList = new ArrayList<>(samples.samples());
+
+        var anfis = new StochasticANFIS(numberOfRules, 1e-4, 1e-4, LossFunctions.MSE(), StoppingConditions.maxIter(0), 1);
+        anfis.fit(samples.copy());
+        model = anfis.freeze();
+    }
+
+    @Benchmark
+    public double mseList() {
+        return mse.score(model, sampleList);
+    }
+
+    @Benchmark
+    public double mseDataset() {
+        return mse.score(model, samples);
+    }
+
+    @Benchmark
+    public double parallelMSEList() {
+        return parallelMSE.score(model, sampleList);
+    }
+
+    @Benchmark
+    public double parallelMSEDataset() {
+        return parallelMSE.score(model, samples);
+    }
+}
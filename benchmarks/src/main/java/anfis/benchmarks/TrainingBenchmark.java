@@ -0,0 +1,96 @@
+package anfis.benchmarks;
+
+import anfis.ml.loss.LossFunctions;
+import anfis.ml.metrics.MetricsRegistry;
+import anfis.ml.optimizers.Optimizers;
+import anfis.ml.sampling.Dataset;
+import anfis.ml.stopping.StoppingConditions;
+import anfis.neural.ANFIS;
+import anfis.neural.BatchANFIS;
+import anfis.neural.HybridANFIS;
+import anfis.neural.StochasticANFIS;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TrainingBenchmark {
+
+    private static final double ETA = 1e-6;
+
+    @Param({"9", "32"})
+    public int numberOfRules;
+
+    @Param({"2", "8"})
+    public int dimension;
+
+    @Param({"4096"})
+    public int size;
+
+    @Param({"1"})
+    public int outputs;
+
+    @Param({"stochastic", "minibatch", "batch", "hybrid"})
+    public String mode;
+
+    @Param({"32"})
+    public int batchSize;
+
+    @Param({"sgd"})
+    public String optimizer;
+
+    @Param({"1"})
+    public int parallelism;
+
+    @Param({"false"})
+    public boolean fusedLossEvaluation;
+
+    @Param({"false", "true"})
+    public boolean vectorized;
+
+    @Param({"false"})
+    public boolean metrics;
+
+    private Dataset samples;
+    private ANFIS model;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        samples = Datasets.synthetic(size, dimension, outputs, 42);
+        model = switch (mode) {
+            case "stochastic" -> new StochasticANFIS(numberOfRules, ETA, ETA, LossFunctions.MSE(), StoppingConditions.maxIter(0), 1);
+            case "minibatch" -> new StochasticANFIS(numberOfRules, ETA, ETA, LossFunctions.MSE(), StoppingConditions.maxIter(0), batchSize);
+            case "batch" -> new BatchANFIS(numberOfRules, ETA, ETA, LossFunctions.MSE(), StoppingConditions.maxIter(0));
+            case "hybrid" -> new HybridANFIS(numberOfRules, ETA, ETA, LossFunctions.MSE(), StoppingConditions.maxIter(0));
+            default -> throw new IllegalArgumentException("Unknown training mode: " + mode);
+        };
+        model.setOptimizer(switch (optimizer) {
+            case "sgd" -> Optimizers.sgd();
+            case "momentum" -> Optimizers.momentum();
+            case "nesterov" -> Optimizers.nesterov();
+            case "rmsprop" -> Optimizers.rmsProp();
+            case "adam" -> Optimizers.adam();
+            default -> throw new IllegalArgumentException("Unknown optimizer: " + optimizer);
+        });
+        model.setParallelism(parallelism);
+        model.setFusedLossEvaluation(fusedLossEvaluation);
+        model.setVectorized(vectorized);
+        if (metrics) model.setMetrics(new MetricsRegistry());
+        model.fit(samples);
+    }
+
+    @Benchmark
+    public ANFIS epoch() {
+        if (model instanceof HybridANFIS) {
+            model.fit(samples);
+        } else {
+            model.partialFit(samples);
+        }
+        return model;
+    }
+}